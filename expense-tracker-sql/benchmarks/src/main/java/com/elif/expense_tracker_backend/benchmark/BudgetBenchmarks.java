@@ -0,0 +1,38 @@
+package com.elif.expense_tracker_backend.benchmark;
+
+import com.elif.expense_tracker_backend.budget.BudgetSummary;
+import com.elif.expense_tracker_backend.service.BudgetService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BudgetBenchmarks {
+
+    private BudgetService budgetService;
+
+    @Setup
+    public void setUp(SeededApplication app) {
+        budgetService = app.bean(BudgetService.class);
+    }
+
+    @Benchmark
+    public List<BudgetSummary> listWithStatus(SeededApplication app, UserCursor users) {
+        return budgetService.listWithStatus(users.next(app));
+    }
+}
@@ -0,0 +1,96 @@
+package com.elif.expense_tracker_backend.benchmark;
+
+import com.elif.expense_tracker_backend.security.UserPrincipal;
+import com.elif.expense_tracker_backend.service.TransactionImportService;
+import com.elif.expense_tracker_backend.service.TransactionService;
+import com.elif.expense_tracker_backend.transaction.TransactionImportResult;
+import com.elif.expense_tracker_backend.transaction.TransactionRequest;
+import com.elif.expense_tracker_backend.transaction.TransactionType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading the same rows through the bulk CSV import and through one
+ * {@link TransactionService#create} call per row, as the REST API did before the import
+ * endpoint existed. Each invocation writes {@code rows} transactions for the first user.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ImportBenchmarks {
+
+    @Param("5000")
+    public int rows;
+
+    private TransactionImportService importService;
+    private TransactionService transactionService;
+    private UserPrincipal user;
+    private byte[] csv;
+    private List<TransactionRequest> requests;
+
+    @Setup
+    public void setUp(SeededApplication app) {
+        importService = app.bean(TransactionImportService.class);
+        transactionService = app.bean(TransactionService.class);
+        user = app.principal(0);
+
+        // Same category ids as SeededApplication: user 1 owns 1..categoriesPerUser, the first is INCOME.
+        SplittableRandom random = new SplittableRandom(7);
+        LocalDate today = LocalDate.now();
+        StringBuilder body = new StringBuilder("date,type,category,amount,note\n");
+        requests = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            int c = random.nextInt(app.categoriesPerUser);
+            TransactionType type = c == 0 ? TransactionType.INCOME : TransactionType.EXPENSE;
+            BigDecimal amount = BigDecimal.valueOf(random.nextInt(100, 50_000), 2);
+            LocalDate date = today.minusDays(random.nextInt(730));
+            String note = "Imported #" + i;
+            body.append(date).append(',').append(type).append(",Category ").append(c).append(',')
+                    .append(amount.toPlainString()).append(',').append(note).append('\n');
+
+            TransactionRequest request = new TransactionRequest();
+            request.setType(type);
+            request.setCategoryId((long) c + 1);
+            request.setAmount(amount);
+            request.setNote(note);
+            request.setTransactionDate(date);
+            requests.add(request);
+        }
+        csv = body.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public TransactionImportResult bulkCsvImport() throws IOException {
+        return importService.importTransactions(user, new ByteArrayInputStream(csv), TransactionImportService.Format.CSV);
+    }
+
+    @Benchmark
+    public void perRowCreate(Blackhole blackhole) {
+        for (TransactionRequest request : requests) {
+            blackhole.consume(transactionService.create(user, request));
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.elif.expense_tracker_backend.benchmark;
+
+import com.elif.expense_tracker_backend.security.JwtService;
+import com.elif.expense_tracker_backend.security.UserPrincipal;
+import com.elif.expense_tracker_backend.user.RoleType;
+import com.elif.expense_tracker_backend.user.User;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue and verification. Builds {@link JwtService} directly, so no database is involved;
+ * the uncached variant runs with a zero-sized verified-claims cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmarks {
+
+    private static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret";
+    private static final long EXPIRATION_MS = 3_600_000;
+
+    private JwtService cachedJwtService;
+    private JwtService uncachedJwtService;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cachedJwtService = new JwtService(SECRET, EXPIRATION_MS, 10_000);
+        uncachedJwtService = new JwtService(SECRET, EXPIRATION_MS, 0);
+        user = User.builder()
+                .id(1L)
+                .email("user1@example.com")
+                .password("{noop}password")
+                .roles(Set.of(RoleType.ROLE_USER))
+                .build();
+        token = cachedJwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cachedJwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public Claims parseCached() {
+        return cachedJwtService.extractAllClaims(token);
+    }
+
+    @Benchmark
+    public Claims parseUncached() {
+        return uncachedJwtService.extractAllClaims(token);
+    }
+
+    @Benchmark
+    public UserPrincipal parseToPrincipal() {
+        return cachedJwtService.extractPrincipal(cachedJwtService.extractAllClaims(token));
+    }
+}
@@ -0,0 +1,188 @@
+package com.elif.expense_tracker_backend.benchmark;
+
+import com.elif.expense_tracker_backend.security.JwtService;
+import com.elif.expense_tracker_backend.security.UserPrincipal;
+import com.elif.expense_tracker_backend.user.User;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.core.env.Environment;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Closed-loop HTTP load test of the dashboard reads, for comparing request handling on
+ * platform threads with virtual threads ({@code spring.threads.virtual.enabled}).
+ *
+ * Boots the seeded application on a random port with a deliberately small connection pool,
+ * then keeps {@code load.clients} clients each sending the next dashboard request as soon as
+ * the previous one returns, cycling through the seeded users. After a warmup it reports
+ * throughput, latency percentiles and errors. Settings are system properties, see the
+ * {@code load} execution in the benchmarks pom.
+ */
+public final class LoadTest {
+
+    private static final String[] DASHBOARD = {
+            "/api/budgets",
+            "/api/transactions?page=0&size=20",
+            "/api/reports/category",
+            "/api/reports/monthly?months=6"
+    };
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String threads = System.getProperty("load.threads", "platform").toLowerCase(Locale.ROOT);
+        int clients = Integer.getInteger("load.clients", 400);
+        int poolSize = Integer.getInteger("load.poolSize", 10);
+        Duration warmup = Duration.ofSeconds(Integer.getInteger("load.warmupSeconds", 10));
+        Duration measurement = Duration.ofSeconds(Integer.getInteger("load.durationSeconds", 30));
+        boolean virtual = switch (threads) {
+            case "platform" -> false;
+            case "virtual" -> true;
+            default -> throw new IllegalArgumentException("load.threads must be platform or virtual, was " + threads);
+        };
+        if (virtual && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("Virtual threads need Java 21 or later; this is " + Runtime.version());
+        }
+
+        SeededApplication app = new SeededApplication();
+        app.users = Integer.getInteger("load.users", 200);
+        app.categoriesPerUser = Integer.getInteger("load.categoriesPerUser", 8);
+        app.transactionsPerUser = Integer.getInteger("load.transactionsPerUser", 250);
+        app.start(WebApplicationType.SERVLET,
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + virtual,
+                "--spring.datasource.hikari.maximum-pool-size=" + poolSize);
+        try {
+            String baseUrl = "http://localhost:" + app.bean(Environment.class).getProperty("local.server.port");
+            JwtService jwtService = app.bean(JwtService.class);
+            String[] tokens = new String[app.users];
+            for (int i = 0; i < tokens.length; i++) {
+                UserPrincipal principal = app.principal(i);
+                tokens[i] = jwtService.generateToken(User.builder()
+                        .id(principal.getId())
+                        .email(principal.getUsername())
+                        .roles(principal.getRoles())
+                        .build());
+            }
+
+            Result result = run(baseUrl, tokens, clients, warmup, measurement);
+            System.out.printf(Locale.ROOT,
+                    "threads=%s java=%d clients=%d pool=%d seconds=%d requests=%d throughput=%.1f/s "
+                            + "p50=%.1fms p95=%.1fms p99=%.1fms max=%.1fms errors=%d%n",
+                    threads, Runtime.version().feature(), clients, poolSize, measurement.toSeconds(),
+                    result.requests(), result.requests() / (double) measurement.toSeconds(),
+                    result.percentile(0.50), result.percentile(0.95), result.percentile(0.99),
+                    result.percentile(1.0), result.errors());
+        } finally {
+            app.stop();
+        }
+    }
+
+    private static Result run(String baseUrl, String[] tokens, int clients, Duration warmup, Duration measurement)
+            throws Exception {
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long measureUntil = measureFrom + measurement.toNanos();
+
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        CountDownLatch ready = new CountDownLatch(clients);
+        List<Future<Result>> futures = new ArrayList<>(clients);
+        for (int c = 0; c < clients; c++) {
+            int client = c;
+            futures.add(pool.submit(() -> {
+                ready.countDown();
+                ready.await();
+                LatencyLog log = new LatencyLog();
+                long errors = 0;
+                for (long i = client; System.nanoTime() < measureUntil; i += clients) {
+                    String token = tokens[(int) (i % tokens.length)];
+                    HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + DASHBOARD[(int) (i % DASHBOARD.length)]))
+                            .header("Authorization", "Bearer " + token)
+                            .timeout(Duration.ofSeconds(60))
+                            .GET()
+                            .build();
+                    long sent = System.nanoTime();
+                    boolean ok;
+                    try {
+                        ok = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+                    } catch (IOException e) {
+                        ok = false;
+                    }
+                    long done = System.nanoTime();
+                    if (sent >= measureFrom && done <= measureUntil) {
+                        log.add(done - sent);
+                        if (!ok) {
+                            errors++;
+                        }
+                    }
+                }
+                return new Result(log.toArray(), errors);
+            }));
+        }
+
+        List<Result> results = new ArrayList<>(clients);
+        for (Future<Result> future : futures) {
+            results.add(future.get());
+        }
+        pool.shutdown();
+        return Result.merge(results);
+    }
+
+    private static final class LatencyLog {
+
+        private long[] nanos = new long[1024];
+        private int size;
+
+        void add(long value) {
+            if (size == nanos.length) {
+                nanos = Arrays.copyOf(nanos, size * 2);
+            }
+            nanos[size++] = value;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(nanos, size);
+        }
+    }
+
+    private record Result(long[] latencies, long errors) {
+
+        static Result merge(List<Result> results) {
+            long[] all = results.stream().flatMapToLong(result -> Arrays.stream(result.latencies())).sorted().toArray();
+            return new Result(all, results.stream().mapToLong(Result::errors).sum());
+        }
+
+        long requests() {
+            return latencies.length;
+        }
+
+        /**
+         * @return the latency at {@code fraction} in milliseconds; needs sorted latencies
+         */
+        double percentile(double fraction) {
+            if (latencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(fraction * latencies.length) - 1;
+            return latencies[Math.max(index, 0)] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.elif.expense_tracker_backend.benchmark;
+
+import com.elif.expense_tracker_backend.report.CategoryReportItem;
+import com.elif.expense_tracker_backend.report.MonthlyReportItem;
+import com.elif.expense_tracker_backend.service.ReportCache;
+import com.elif.expense_tracker_backend.service.ReportService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ReportService against the rollup table, with and without the per-user report cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReportBenchmarks {
+
+    private ReportService reportService;
+    private ReportCache reportCache;
+    private String month;
+
+    @Setup
+    public void setUp(SeededApplication app) {
+        reportService = app.bean(ReportService.class);
+        reportCache = app.bean(ReportCache.class);
+        month = YearMonth.now().toString();
+    }
+
+    @Benchmark
+    public List<MonthlyReportItem> monthlyCached(SeededApplication app, UserCursor users) {
+        return reportService.monthly(users.next(app), 12);
+    }
+
+    @Benchmark
+    public List<MonthlyReportItem> monthlyUncached(SeededApplication app, UserCursor users) {
+        reportCache.invalidateAll();
+        return reportService.monthly(users.next(app), 12);
+    }
+
+    @Benchmark
+    public List<CategoryReportItem> byCategoryUncached(SeededApplication app, UserCursor users) {
+        reportCache.invalidateAll();
+        return reportService.byCategory(users.next(app), month);
+    }
+
+    @Benchmark
+    public List<MonthlyReportItem> spendingTrendUncached(SeededApplication app, UserCursor users) {
+        reportCache.invalidateAll();
+        return reportService.spendingTrend(users.next(app), 12);
+    }
+}
@@ -0,0 +1,159 @@
+package com.elif.expense_tracker_backend.benchmark;
+
+import com.elif.expense_tracker_backend.ExpenseTrackerBackendApplication;
+import com.elif.expense_tracker_backend.security.UserPrincipal;
+import com.elif.expense_tracker_backend.service.MonthlyRollupService;
+import com.elif.expense_tracker_backend.user.RoleType;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Boots the application against an in-memory H2 database and seeds a synthetic dataset of
+ * users x categories x transactions, spread over the last two years. Shared by every
+ * benchmark in a fork; the dataset size comes from the JMH params.
+ */
+@State(Scope.Benchmark)
+public class SeededApplication {
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Param("20")
+    public int users;
+
+    @Param("8")
+    public int categoriesPerUser;
+
+    @Param("250")
+    public int transactionsPerUser;
+
+    private ConfigurableApplicationContext context;
+    private List<UserPrincipal> principals;
+
+    @Setup(Level.Trial)
+    public void start() {
+        start(WebApplicationType.NONE);
+    }
+
+    /**
+     * @param extraArgs command-line style settings applied on top of the H2 ones
+     */
+    public void start(WebApplicationType webApplicationType, String... extraArgs) {
+        // Command-line arguments outrank the profile-specific datasource settings.
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:benchmarks;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.show-sql=false",
+                "--spring.flyway.enabled=false",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN"));
+        args.addAll(List.of(extraArgs));
+        context = new SpringApplicationBuilder(ExpenseTrackerBackendApplication.class)
+                .web(webApplicationType)
+                .run(args.toArray(String[]::new));
+        seed(context.getBean(JdbcTemplate.class));
+        context.getBean(MonthlyRollupService.class).rebuild();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public UserPrincipal principal(int index) {
+        return principals.get(Math.floorMod(index, principals.size()));
+    }
+
+    private void seed(JdbcTemplate jdbc) {
+        SplittableRandom random = new SplittableRandom(42);
+        LocalDate today = LocalDate.now();
+        Timestamp now = Timestamp.from(Instant.now());
+        String currentMonth = YearMonth.from(today).toString();
+
+        List<Object[]> userRows = new ArrayList<>();
+        List<Object[]> roleRows = new ArrayList<>();
+        List<Object[]> categoryRows = new ArrayList<>();
+        List<Object[]> budgetRows = new ArrayList<>();
+        principals = new ArrayList<>();
+        for (long u = 1; u <= users; u++) {
+            String email = "user" + u + "@example.com";
+            userRows.add(new Object[]{u, email, "{noop}password", true, now});
+            roleRows.add(new Object[]{u, RoleType.ROLE_USER.name()});
+            principals.add(new UserPrincipal(u, email, Set.of(RoleType.ROLE_USER)));
+            for (int c = 0; c < categoriesPerUser; c++) {
+                long categoryId = categoryId(u, c);
+                String name = "Category " + c;
+                String type = c == 0 ? "INCOME" : "EXPENSE";
+                categoryRows.add(new Object[]{categoryId, u, name, type});
+                if (c > 0) {
+                    budgetRows.add(new Object[]{u, name.toLowerCase(), currentMonth, new BigDecimal("500.00"), 0.8, now});
+                }
+            }
+        }
+        jdbc.batchUpdate("insert into users (id, email, password, enabled, created_at) values (?, ?, ?, ?, ?)", userRows);
+        jdbc.batchUpdate("insert into user_roles (user_id, role) values (?, ?)", roleRows);
+        jdbc.batchUpdate("insert into categories (id, user_id, name, type) values (?, ?, ?, ?)", categoryRows);
+        // Users and categories use fixed ids (see categoryId); move their pooled sequences past them.
+        jdbc.execute("alter sequence users_seq restart with " + (users + 50));
+        jdbc.execute("alter sequence categories_seq restart with " + ((long) users * categoriesPerUser + 50));
+        jdbc.batchUpdate("""
+                insert into budgets (id, user_id, category, month_key, limit_amount, warning_threshold, created_at)
+                values (next value for budgets_seq, ?, ?, ?, ?, ?, ?)
+                """, budgetRows);
+
+        String insertTransaction = """
+                insert into transactions (id, user_id, category_id, type, amount, note, transaction_date, created_at)
+                values (next value for transactions_seq, ?, ?, ?, ?, ?, ?, ?)
+                """;
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (long u = 1; u <= users; u++) {
+            for (int t = 0; t < transactionsPerUser; t++) {
+                int c = random.nextInt(categoriesPerUser);
+                batch.add(new Object[]{
+                        u,
+                        categoryId(u, c),
+                        c == 0 ? "INCOME" : "EXPENSE",
+                        BigDecimal.valueOf(random.nextInt(100, 50_000), 2),
+                        "Synthetic #" + t,
+                        Date.valueOf(today.minusDays(random.nextInt(730))),
+                        now
+                });
+                if (batch.size() == BATCH_SIZE) {
+                    jdbc.batchUpdate(insertTransaction, batch);
+                    batch.clear();
+                }
+            }
+        }
+        jdbc.batchUpdate(insertTransaction, batch);
+    }
+
+    private long categoryId(long userId, int category) {
+        return (userId - 1) * categoriesPerUser + category + 1;
+    }
+}
@@ -0,0 +1,56 @@
+package com.elif.expense_tracker_backend.benchmark;
+
+import com.elif.expense_tracker_backend.service.TransactionService;
+import com.elif.expense_tracker_backend.transaction.Transaction;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping cost of {@link TransactionService#toResponse} over one page of detached
+ * transactions whose categories are already loaded.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransactionBenchmarks {
+
+    private static final int PAGE_SIZE = 100;
+
+    private TransactionService transactionService;
+    private List<Transaction> page;
+
+    @Setup
+    public void setUp(SeededApplication app) {
+        transactionService = app.bean(TransactionService.class);
+        EntityManager entityManager = app.bean(EntityManager.class);
+        page = app.bean(TransactionTemplate.class).execute(status -> entityManager
+                .createQuery("select t from Transaction t join fetch t.category order by t.transactionDate desc, t.id desc",
+                        Transaction.class)
+                .setMaxResults(PAGE_SIZE)
+                .getResultList());
+    }
+
+    @Benchmark
+    public void toResponsePage(Blackhole blackhole) {
+        for (Transaction tx : page) {
+            blackhole.consume(transactionService.toResponse(tx));
+        }
+    }
+}
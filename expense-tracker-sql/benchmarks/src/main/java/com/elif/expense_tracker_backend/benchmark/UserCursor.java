@@ -0,0 +1,18 @@
+package com.elif.expense_tracker_backend.benchmark;
+
+import com.elif.expense_tracker_backend.security.UserPrincipal;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Walks the seeded users round-robin per thread so a benchmark is not measuring one user.
+ */
+@State(Scope.Thread)
+public class UserCursor {
+
+    private int next;
+
+    public UserPrincipal next(SeededApplication app) {
+        return app.principal(next++);
+    }
+}
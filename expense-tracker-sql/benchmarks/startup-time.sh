@@ -0,0 +1,76 @@
+#!/usr/bin/env bash
+#
+# Time from JVM launch to the first answered HTTP request, for the plain boot the app used
+# to do (ddl-auto=update) and for each cold-start step: validate-only schema, Spring AOT,
+# and an AppCDS archive on top.
+#
+#   ./mvnw -Pfast-start package -DskipTests
+#   DATABASE_URL=jdbc:postgresql://localhost:5432/expense_tracker DATABASE_USERNAME=... \
+#   DATABASE_PASSWORD=... JWT_SECRET=... benchmarks/startup-time.sh [runs]
+#
+# The database must already be migrated (start the app against it once). Modes run
+# interleaved, so disk cache and machine load hit them alike; the median is reported.
+set -euo pipefail
+
+RUNS=${1:-5}
+JAR=${JAR:-target/expense-tracker-backend-0.0.1-SNAPSHOT.jar}
+PORT=${PORT:-18080}
+: "${DATABASE_URL:?set DATABASE_URL (jdbc:postgresql://...)}"
+: "${JWT_SECRET:?set JWT_SECRET}"
+export DATABASE_URL DATABASE_USERNAME="${DATABASE_USERNAME:-}" DATABASE_PASSWORD="${DATABASE_PASSWORD:-}" JWT_SECRET
+
+WORK=$(mktemp -d)
+trap 'rm -rf "$WORK"' EXIT
+APP_ARGS=(--spring.profiles.active=prod --PORT="$PORT" --MANAGEMENT_PORT=0 --logging.level.root=WARN)
+
+echo "Extracting $JAR and training the CDS archive..."
+cp "$JAR" "$WORK/app.jar"
+(cd "$WORK" && java -Djarmode=tools -jar app.jar extract --destination extracted >/dev/null)
+EXTRACTED="$WORK/extracted/app.jar"
+java -XX:ArchiveClassesAtExit="$WORK/app.jsa" -Dspring.aot.enabled=true -Dspring.context.exit=onRefresh \
+    -jar "$EXTRACTED" "${APP_ARGS[@]}" >/dev/null
+
+# Prints milliseconds until the server answers (any status; the probe is unauthenticated).
+time_to_first_request() {
+    local start end pid
+    start=$(date +%s%N)
+    java "$@" >"$WORK/last.log" 2>&1 &
+    pid=$!
+    until curl -s -o /dev/null "http://localhost:$PORT/api/categories"; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "startup failed, see log:" >&2
+            tail -20 "$WORK/last.log" >&2
+            exit 1
+        fi
+        sleep 0.02
+    done
+    end=$(date +%s%N)
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    echo $(((end - start) / 1000000))
+}
+
+declare -A MODE_ARGS=(
+    [1-update]="-jar $JAR ${APP_ARGS[*]} --spring.jpa.hibernate.ddl-auto=update"
+    [2-validate]="-jar $EXTRACTED ${APP_ARGS[*]}"
+    [3-validate+aot]="-Dspring.aot.enabled=true -jar $EXTRACTED ${APP_ARGS[*]}"
+    [4-validate+aot+cds]="-XX:SharedArchiveFile=$WORK/app.jsa -Dspring.aot.enabled=true -jar $EXTRACTED ${APP_ARGS[*]}"
+)
+MODES=$(printf '%s\n' "${!MODE_ARGS[@]}" | sort)
+declare -A RESULTS
+
+for ((run = 1; run <= RUNS; run++)); do
+    for mode in $MODES; do
+        # shellcheck disable=SC2086
+        ms=$(time_to_first_request ${MODE_ARGS[$mode]})
+        RESULTS[$mode]+="$ms "
+        echo "run $run  ${mode#*-}: ${ms} ms"
+    done
+done
+
+echo
+echo "median time to first request over $RUNS runs ($(java -version 2>&1 | head -1))"
+for mode in $MODES; do
+    median=$(tr ' ' '\n' <<<"${RESULTS[$mode]}" | grep -v '^$' | sort -n | awk '{a[NR]=$1} END {print a[int((NR + 1) / 2)]}')
+    printf '  %-20s %6s ms\n' "${mode#*-}" "$median"
+done
@@ -30,16 +30,12 @@ export const DashboardPage = () => {
   useEffect(() => {
     const fetchData = async () => {
       try {
-        const [txRes, catRes, monthlyRes, catRepRes] = await Promise.all([
-          api.get('/transactions', { params: { page: 0, size: 5, sort: 'transactionDate,desc' } }),
-          api.get('/categories'),
-          api.get('/reports/monthly', { params: { months: 6 } }),
-          api.get('/reports/category')
-        ]);
-        setTransactions(txRes.data.content || txRes.data || []);
-        setCategories(catRes.data || []);
-        setMonthly(monthlyRes.data || []);
-        setByCategory(catRepRes.data || []);
+        // One round trip; the server loads the sections in parallel.
+        const { data } = await api.get('/dashboard', { params: { months: 6, transactions: 5 } });
+        setTransactions(data.recentTransactions || []);
+        setCategories(data.categories || []);
+        setMonthly(data.monthly || []);
+        setByCategory(data.byCategory || []);
       } catch (err) {
         console.error(err);
       } finally {
@@ -0,0 +1,18 @@
+package com.elif.expense_tracker_backend.budget;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+@Getter
+@Builder
+public class BudgetResponse {
+    private Long id;
+    private String category;
+    private String month;
+    private BigDecimal limitAmount;
+    private Double warningThreshold;
+    private Instant createdAt;
+}
@@ -6,6 +6,8 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Getter
 @Setter
@@ -13,6 +15,9 @@ import lombok.*;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+// Read by the ownership check on every write; regions are bounded in application.conf.
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "categories")
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @Table(name = "categories", uniqueConstraints = {
         @UniqueConstraint(columnNames = {"user_id", "name"})
@@ -20,7 +25,8 @@ import lombok.*;
 public class Category {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "categories_seq")
+    @SequenceGenerator(name = "categories_seq", sequenceName = "categories_seq", allocationSize = 50)
     private Long id;
 
     @JsonIgnore
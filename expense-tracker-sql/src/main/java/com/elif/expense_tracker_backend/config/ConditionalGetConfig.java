@@ -0,0 +1,33 @@
+package com.elif.expense_tracker_backend.config;
+
+import com.elif.expense_tracker_backend.service.DataVersions;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Routes the listing and report endpoints the dashboard re-fetches on every navigation
+ * through {@link ConditionalGetInterceptor}.
+ */
+@Configuration
+public class ConditionalGetConfig implements WebMvcConfigurer {
+
+    private final DataVersions dataVersions;
+
+    public ConditionalGetConfig(DataVersions dataVersions) {
+        this.dataVersions = dataVersions;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ConditionalGetInterceptor(dataVersions))
+                .addPathPatterns(
+                        "/api/transactions",
+                        "/api/transactions/cursor",
+                        "/api/categories",
+                        "/api/budgets",
+                        "/api/recurring",
+                        "/api/dashboard",
+                        "/api/reports/**");
+    }
+}
@@ -0,0 +1,60 @@
+package com.elif.expense_tracker_backend.config;
+
+import com.elif.expense_tracker_backend.security.UserPrincipal;
+import com.elif.expense_tracker_backend.service.DataVersions;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.zip.CRC32;
+
+/**
+ * Tags per-user read endpoints with a strong ETag built from the user's
+ * {@link DataVersions data version}, the request URI and query, and today's date (reports
+ * are relative to the current month). A matching If-None-Match is answered 304 before the
+ * handler runs, so the version lookup is the only query issued.
+ */
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+
+    private static final String CACHE_CONTROL = CacheControl.noCache().cachePrivate().getHeaderValue();
+
+    private final DataVersions dataVersions;
+
+    public ConditionalGetInterceptor(DataVersions dataVersions) {
+        this.dataVersions = dataVersions;
+    }
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request,
+                             @NonNull HttpServletResponse response,
+                             @NonNull Object handler) {
+        if (!HttpMethod.GET.matches(request.getMethod())) {
+            return true;
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof UserPrincipal user)) {
+            return true;
+        }
+
+        // Set before the security headers are written, which then leave out their no-store.
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        String etag = "\"" + dataVersions.current(user.getId()) + "-" + requestHash(request, user) + "\"";
+        return !new ServletWebRequest(request, response).checkNotModified(etag);
+    }
+
+    private static String requestHash(HttpServletRequest request, UserPrincipal user) {
+        CRC32 crc = new CRC32();
+        String key = user.getId() + "|" + request.getRequestURI() + "?" + request.getQueryString() + "|" + LocalDate.now();
+        crc.update(key.getBytes(StandardCharsets.UTF_8));
+        return Long.toHexString(crc.getValue());
+    }
+}
@@ -40,7 +40,7 @@ public class DatabaseUrlPostProcessor implements EnvironmentPostProcessor {
                 dbName = dbName.substring(1);
             }
 
-            String jdbcUrl = String.format("jdbc:postgresql://%s:%d/%s?sslmode=require", host, port, dbName);
+            String jdbcUrl = String.format("jdbc:postgresql://%s:%d/%s?sslmode=require&reWriteBatchedInserts=true", host, port, dbName);
 
             String userInfo = uri.getUserInfo();
             String username = null;
@@ -0,0 +1,39 @@
+package com.elif.expense_tracker_backend.config;
+
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+
+/**
+ * Which database the app is talking to, for the few statements (upserts) that have no
+ * portable form. Looked up on first use rather than at startup, so contexts that never
+ * touch the database (the CDS training run) do not need one.
+ */
+@Component
+public class DatabaseVendor {
+
+    private final DataSource dataSource;
+    private volatile DatabaseDriver driver;
+
+    public DatabaseVendor(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    public DatabaseDriver get() {
+        DatabaseDriver current = driver;
+        if (current == null) {
+            try {
+                current = DatabaseDriver.fromProductName(
+                        JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName));
+            } catch (MetaDataAccessException e) {
+                throw new IllegalStateException("Could not determine the database product", e);
+            }
+            driver = current;
+        }
+        return current;
+    }
+}
@@ -0,0 +1,13 @@
+package com.elif.expense_tracker_backend.config;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class EntityCacheStats {
+    private final String region;
+    private final long hits;
+    private final long misses;
+    private final long puts;
+}
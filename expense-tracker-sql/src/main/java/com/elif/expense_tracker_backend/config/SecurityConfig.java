@@ -1,7 +1,10 @@
 package com.elif.expense_tracker_backend.config;
 
 import com.elif.expense_tracker_backend.repository.UserRepository;
+import com.elif.expense_tracker_backend.security.BoundedPasswordEncoder;
 import com.elif.expense_tracker_backend.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -17,7 +20,6 @@ import org.springframework.security.config.annotation.web.configuration.WebSecur
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.access.AccessDeniedHandlerImpl;
 import org.springframework.security.web.authentication.HttpStatusEntryPoint;
@@ -34,9 +36,15 @@ import java.util.List;
 public class SecurityConfig {
 
     private final UserRepository userRepository;
+    private final int hashingThreads;
+    private final int hashingQueueCapacity;
 
-    public SecurityConfig(UserRepository userRepository) {
+    public SecurityConfig(UserRepository userRepository,
+                          @Value("${security.password-hashing.threads:0}") int hashingThreads,
+                          @Value("${security.password-hashing.queue-capacity:64}") int hashingQueueCapacity) {
         this.userRepository = userRepository;
+        this.hashingThreads = hashingThreads;
+        this.hashingQueueCapacity = hashingQueueCapacity;
     }
 
     @Bean
@@ -48,9 +56,10 @@ public class SecurityConfig {
                 .cors(Customizer.withDefaults())
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll() // allow preflight
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()  // completes streamed responses already authorized on the request
                         .requestMatchers("/api/auth/**").permitAll()            // register + login open
                         .requestMatchers("/swagger-ui.html", "/swagger-ui/**", "/v3/api-docs/**").permitAll()
-                        .requestMatchers(HttpMethod.GET, "/actuator/health").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/actuator/health", "/actuator/prometheus").permitAll() // management port, loopback only
                         // Allow static frontend resources (React SPA)
                         .requestMatchers("/", "/index.html", "/assets/**", "/favicon.ico", "/*.js", "/*.css", "/*.png", "/*.svg", "/*.ico").permitAll()
                         .requestMatchers("/login", "/register", "/dashboard", "/transactions", "/categories", "/reports", "/recurring").permitAll()
@@ -90,8 +99,9 @@ public class SecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BoundedPasswordEncoder passwordEncoder() {
+        int threads = hashingThreads > 0 ? hashingThreads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), threads, hashingQueueCapacity);
     }
 
     @Bean
@@ -1,37 +1,112 @@
 package com.elif.expense_tracker_backend.config;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
 import org.springframework.web.servlet.resource.PathResourceResolver;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
 
 /**
  * Serves the React SPA from /static. Any route that is NOT an API call
  * or a real static file will fall through to index.html so React Router
  * can handle client-side routing.
+ *
+ * Vite names everything under /assets by content hash, so those files are cached by browsers
+ * for a year as immutable. index.html is read once at startup and always revalidated, by ETag,
+ * so a deploy is picked up on the next navigation. Resolved paths (including the .br/.gz
+ * variant chosen for the request's Accept-Encoding) are kept in a bounded in-memory cache.
  */
 @Configuration
 public class SpaWebConfig implements WebMvcConfigurer {
 
+    private static final String INDEX = "index.html";
+
+    private final Cache resolvedResources;
+    private final IndexHtml index;
+
+    public SpaWebConfig(@Value("${spa.resource-cache.max-size:1000}") long resourceCacheSize) {
+        this.resolvedResources = new CaffeineCache("spa-resources",
+                Caffeine.newBuilder().maximumSize(resourceCacheSize).build());
+        this.index = IndexHtml.load(new ClassPathResource("/static/" + INDEX));
+    }
+
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        registry.addResourceHandler("/assets/**")
+                .addResourceLocations("classpath:/static/assets/")
+                .setCacheControl(CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable())
+                .resourceChain(true, resolvedResources)
+                .addResolver(new EncodedResourceResolver())
+                .addResolver(new PathResourceResolver());
+
         registry.addResourceHandler("/**")
                 .addResourceLocations("classpath:/static/")
-                .resourceChain(true)
+                .setCacheControl(CacheControl.noCache())
+                .setEtagGenerator(resource -> resource instanceof IndexHtml html ? html.etag : null)
+                .resourceChain(true, resolvedResources)
+                .addResolver(new EncodedResourceResolver())
                 .addResolver(new PathResourceResolver() {
                     @Override
                     protected Resource getResource(String resourcePath, Resource location) throws IOException {
-                        Resource requested = location.createRelative(resourcePath);
+                        if (resourcePath.isEmpty() || resourcePath.equals(INDEX)) {
+                            return index;
+                        }
                         // If the file exists on disk, serve it (JS, CSS, images…).
                         // Otherwise fall back to index.html for SPA routing.
-                        return requested.exists() && requested.isReadable()
-                                ? requested
-                                : new ClassPathResource("/static/index.html");
+                        Resource requested = super.getResource(resourcePath, location);
+                        return requested != null ? requested : index;
                     }
                 });
     }
+
+    /**
+     * index.html held in memory; null when the frontend was not built into /static.
+     */
+    private static final class IndexHtml extends ByteArrayResource {
+
+        private final String etag;
+        private final long lastModified;
+
+        private IndexHtml(byte[] content) {
+            super(content, "preloaded " + INDEX);
+            this.etag = DigestUtils.md5DigestAsHex(content);
+            this.lastModified = System.currentTimeMillis() / 1000 * 1000;
+        }
+
+        static IndexHtml load(Resource resource) {
+            if (!resource.exists()) {
+                return null;
+            }
+            try (InputStream in = resource.getInputStream()) {
+                return new IndexHtml(StreamUtils.copyToByteArray(in));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public String getFilename() {
+            return INDEX;
+        }
+
+        @Override
+        public long lastModified() {
+            return lastModified;
+        }
+    }
 }
@@ -0,0 +1,114 @@
+package com.elif.expense_tracker_backend.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.scheduling.support.ScheduledTaskObservationContext;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.util.Map;
+
+/**
+ * Counts SQL statements per HTTP request and per {@code @Scheduled} run, hooking into the
+ * observations Spring already opens around both, and records them as
+ * {@code sql.statements.request} / {@code sql.statements.scheduled}.
+ *
+ * Requests over {@code sql.statement-budget.request} statements, or that run one statement
+ * {@code sql.statement-budget.repeated} times (the usual N+1 signature), are logged with that
+ * statement. Scheduled runs are only held to {@code sql.statement-budget.scheduled}, since
+ * paging through a table repeats one query by design.
+ */
+@Component
+public class SqlStatementBudget implements ObservationHandler<Observation.Context> {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlStatementBudget.class);
+
+    private final SqlStatementCounter counter;
+    private final MeterRegistry meterRegistry;
+    private final int requestBudget;
+    private final int repeatedLimit;
+    private final int scheduledBudget;
+
+    public SqlStatementBudget(SqlStatementCounter counter,
+                              MeterRegistry meterRegistry,
+                              @Value("${sql.statement-budget.request:20}") int requestBudget,
+                              @Value("${sql.statement-budget.repeated:10}") int repeatedLimit,
+                              @Value("${sql.statement-budget.scheduled:5000}") int scheduledBudget) {
+        this.counter = counter;
+        this.meterRegistry = meterRegistry;
+        this.requestBudget = requestBudget;
+        this.repeatedLimit = repeatedLimit;
+        this.scheduledBudget = scheduledBudget;
+    }
+
+    @Override
+    public boolean supportsContext(Observation.Context context) {
+        return context instanceof ServerRequestObservationContext || context instanceof ScheduledTaskObservationContext;
+    }
+
+    @Override
+    public void onStart(Observation.Context context) {
+        context.put(SqlStatementCounter.Tally.class, new SqlStatementCounter.Tally());
+    }
+
+    // An async request is observed across several dispatches, each on its own thread and scope.
+    @Override
+    public void onScopeOpened(Observation.Context context) {
+        SqlStatementCounter.Tally tally = context.get(SqlStatementCounter.Tally.class);
+        if (tally != null) {
+            counter.attach(tally);
+        }
+    }
+
+    @Override
+    public void onScopeClosed(Observation.Context context) {
+        SqlStatementCounter.Tally tally = context.get(SqlStatementCounter.Tally.class);
+        if (tally != null) {
+            tally.close();
+        }
+    }
+
+    @Override
+    public void onScopeReset(Observation.Context context) {
+        counter.reset();
+    }
+
+    @Override
+    public void onStop(Observation.Context context) {
+        SqlStatementCounter.Tally tally = context.get(SqlStatementCounter.Tally.class);
+        if (tally == null) {
+            return;
+        }
+        if (context instanceof ServerRequestObservationContext request) {
+            String uri = request.getPathPattern() != null ? request.getPathPattern() : "UNKNOWN";
+            String method = request.getCarrier().getMethod();
+            record("sql.statements.request", tally, "uri", uri);
+            Map.Entry<String, Integer> repeated = tally.mostRepeated();
+            if (tally.count() > requestBudget || (repeated != null && repeated.getValue() >= repeatedLimit)) {
+                log.warn("{} {} ran {} SQL statements (budget {}); most repeated ({}x): {}",
+                        method, uri, tally.count(), requestBudget,
+                        repeated == null ? 0 : repeated.getValue(), repeated == null ? "-" : repeated.getKey());
+            }
+        } else if (context instanceof ScheduledTaskObservationContext task) {
+            String job = ClassUtils.getUserClass(task.getTargetClass()).getSimpleName() + "." + task.getMethod().getName();
+            record("sql.statements.scheduled", tally, "job", job);
+            if (tally.count() > scheduledBudget) {
+                log.warn("Scheduled {} ran {} SQL statements (budget {})", job, tally.count(), scheduledBudget);
+            }
+        }
+    }
+
+    private void record(String name, SqlStatementCounter.Tally tally, String tag, String value) {
+        DistributionSummary.builder(name)
+                .description("SQL statements issued through Hibernate per request or scheduled run")
+                .tag(tag, value)
+                .register(meterRegistry)
+                .record(tally.count());
+    }
+}
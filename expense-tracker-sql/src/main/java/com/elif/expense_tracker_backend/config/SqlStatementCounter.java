@@ -0,0 +1,138 @@
+package com.elif.expense_tracker_backend.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread while a {@link Tally} is
+ * open. Tallies nest: a statement counts towards every tally open on the thread, so a test can
+ * wrap a request that {@link SqlStatementBudget} is already counting.
+ *
+ * Only statements issued through Hibernate are seen; the JdbcTemplate batch writes in the
+ * import, rollup and data version paths are not. Work handed to another thread is counted only
+ * when it is wrapped with {@link #propagate}.
+ */
+@Component
+public class SqlStatementCounter implements StatementInspector, HibernatePropertiesCustomizer {
+
+    private final ThreadLocal<Tally> current = new ThreadLocal<>();
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+    }
+
+    @Override
+    public String inspect(String sql) {
+        for (Tally tally = current.get(); tally != null; tally = tally.parent) {
+            tally.record(sql);
+        }
+        return sql;
+    }
+
+    /**
+     * Starts counting on this thread until the returned tally is closed.
+     */
+    public Tally open() {
+        Tally tally = new Tally();
+        attach(tally);
+        return tally;
+    }
+
+    /**
+     * Wraps work that is about to be handed to another thread so that, while it runs, its
+     * statements count towards the tallies open on the calling thread.
+     */
+    public <T> Supplier<T> propagate(Supplier<T> work) {
+        Tally caller = current.get();
+        if (caller == null) {
+            return work;
+        }
+        return () -> {
+            Tally previous = current.get();
+            current.set(caller);
+            try {
+                return work.get();
+            } finally {
+                if (previous == null) {
+                    current.remove();
+                } else {
+                    current.set(previous);
+                }
+            }
+        };
+    }
+
+    void attach(Tally tally) {
+        tally.parent = current.get();
+        current.set(tally);
+        tally.counter = this;
+    }
+
+    void detach(Tally tally) {
+        if (current.get() == tally) {
+            if (tally.parent == null) {
+                current.remove();
+            } else {
+                current.set(tally.parent);
+            }
+        }
+        tally.parent = null;
+        tally.counter = null;
+    }
+
+    void reset() {
+        current.remove();
+    }
+
+    /**
+     * May record from several threads at once once {@link #propagate propagated}, so access
+     * is synchronized.
+     */
+    public static final class Tally implements AutoCloseable {
+
+        private final Map<String, Integer> bySql = new HashMap<>();
+        private int count;
+        private Tally parent;
+        private SqlStatementCounter counter;
+
+        private synchronized void record(String sql) {
+            count++;
+            bySql.merge(sql, 1, Integer::sum);
+        }
+
+        public synchronized int count() {
+            return count;
+        }
+
+        /**
+         * @return how many times each distinct statement ran
+         */
+        public synchronized Map<String, Integer> statements() {
+            return Map.copyOf(bySql);
+        }
+
+        /**
+         * @return the statement that ran most often, or null if none ran
+         */
+        public synchronized Map.Entry<String, Integer> mostRepeated() {
+            return bySql.entrySet().stream()
+                    .max(Map.Entry.comparingByValue())
+                    .map(entry -> Map.entry(entry.getKey(), entry.getValue()))
+                    .orElse(null);
+        }
+
+        @Override
+        public void close() {
+            if (counter != null) {
+                counter.detach(this);
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.elif.expense_tracker_backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Extras for {@code spring.threads.virtual.enabled=true}, which Spring Boot honours on Java 21+
+ * only: Tomcat, {@code @Scheduled} and async work then run on virtual threads.
+ *
+ * Virtual threads remove the cap that Tomcat's worker pool put on concurrent requests, so
+ * the Hikari pool is guarded by {@link ConnectionLimitingDataSource} with one permit per
+ * pooled connection. This also bounds how many virtual threads can be inside the JDBC driver,
+ * where blocking on a monitor pins the carrier thread.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    @Bean
+    static BeanPostProcessor connectionLimitingDataSource(Environment environment) {
+        Duration acquireTimeout = environment.getProperty("jdbc.guard.acquire-timeout", Duration.class, Duration.ofSeconds(60));
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof HikariDataSource hikari)) {
+                    return bean;
+                }
+                log.info("Virtual threads enabled: limiting '{}' to {} concurrent connections", beanName,
+                        hikari.getMaximumPoolSize());
+                return new ConnectionLimitingDataSource(hikari, hikari.getMaximumPoolSize(), acquireTimeout);
+            }
+        };
+    }
+
+    @Bean
+    MeterBinder connectionGuardMetrics(DataSource dataSource) {
+        return registry -> {
+            if (dataSource instanceof ConnectionLimitingDataSource guard) {
+                Gauge.builder("jdbc.guard.available", guard, ConnectionLimitingDataSource::availablePermits)
+                        .description("Connections that can be handed out without waiting")
+                        .register(registry);
+                Gauge.builder("jdbc.guard.waiting", guard, ConnectionLimitingDataSource::queueLength)
+                        .description("Threads waiting for a connection permit")
+                        .register(registry);
+            }
+        };
+    }
+}
@@ -0,0 +1,103 @@
+package com.elif.expense_tracker_backend.controller;
+
+import com.elif.expense_tracker_backend.config.EntityCacheStats;
+import com.elif.expense_tracker_backend.report.ReportCacheStats;
+import com.elif.expense_tracker_backend.report.RollupDriftReport;
+import com.elif.expense_tracker_backend.security.AuthConcurrencyFilter;
+import com.elif.expense_tracker_backend.security.BoundedPasswordEncoder;
+import com.elif.expense_tracker_backend.security.JwtCacheStats;
+import com.elif.expense_tracker_backend.security.JwtService;
+import com.elif.expense_tracker_backend.security.PasswordHashingStats;
+import com.elif.expense_tracker_backend.service.MonthlyRollupService;
+import com.elif.expense_tracker_backend.service.ReportCache;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+@RestController
+@RequestMapping("/api/admin")
+@SecurityRequirement(name = "BearerAuth")
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminController {
+
+    private final MonthlyRollupService monthlyRollupService;
+    private final ReportCache reportCache;
+    private final JwtService jwtService;
+    private final BoundedPasswordEncoder passwordEncoder;
+    private final AuthConcurrencyFilter authConcurrencyFilter;
+    private final Statistics hibernateStatistics;
+
+    public AdminController(MonthlyRollupService monthlyRollupService, ReportCache reportCache, JwtService jwtService,
+                           BoundedPasswordEncoder passwordEncoder, AuthConcurrencyFilter authConcurrencyFilter,
+                           EntityManagerFactory entityManagerFactory) {
+        this.monthlyRollupService = monthlyRollupService;
+        this.reportCache = reportCache;
+        this.jwtService = jwtService;
+        this.passwordEncoder = passwordEncoder;
+        this.authConcurrencyFilter = authConcurrencyFilter;
+        this.hibernateStatistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @GetMapping("/rollup/verify")
+    public ResponseEntity<RollupDriftReport> verifyRollup() {
+        return ResponseEntity.ok(monthlyRollupService.verify());
+    }
+
+    @PostMapping("/rollup/rebuild")
+    public ResponseEntity<RollupDriftReport> rebuildRollup() {
+        return ResponseEntity.ok(monthlyRollupService.rebuild());
+    }
+
+    @GetMapping("/report-cache")
+    public ResponseEntity<ReportCacheStats> reportCacheStats() {
+        return ResponseEntity.ok(reportCache.stats());
+    }
+
+    @GetMapping("/jwt-cache")
+    public ResponseEntity<JwtCacheStats> jwtCacheStats() {
+        return ResponseEntity.ok(jwtService.claimsCacheStats());
+    }
+
+    @GetMapping("/password-hashing")
+    public ResponseEntity<PasswordHashingStats> passwordHashingStats() {
+        return ResponseEntity.ok(passwordEncoder.stats());
+    }
+
+    @GetMapping("/auth-limit")
+    public ResponseEntity<Map<String, Number>> authLimitStats() {
+        return ResponseEntity.ok(Map.of(
+                "maxConcurrent", authConcurrencyFilter.getMaxConcurrent(),
+                "inFlight", authConcurrencyFilter.getInFlight(),
+                "rejected", authConcurrencyFilter.getRejected()));
+    }
+
+    @GetMapping("/entity-cache")
+    public ResponseEntity<List<EntityCacheStats>> entityCacheStats() {
+        return ResponseEntity.ok(Arrays.stream(hibernateStatistics.getSecondLevelCacheRegionNames())
+                .sorted()
+                .map(region -> {
+                    CacheRegionStatistics stats = hibernateStatistics.getCacheRegionStatistics(region);
+                    return stats == null ? null : EntityCacheStats.builder()
+                            .region(region)
+                            .hits(stats.getHitCount())
+                            .misses(stats.getMissCount())
+                            .puts(stats.getPutCount())
+                            .build();
+                })
+                .filter(Objects::nonNull)
+                .toList());
+    }
+}
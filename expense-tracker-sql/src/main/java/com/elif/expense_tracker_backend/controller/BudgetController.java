@@ -1,10 +1,10 @@
 package com.elif.expense_tracker_backend.controller;
 
-import com.elif.expense_tracker_backend.budget.Budget;
 import com.elif.expense_tracker_backend.budget.BudgetRequest;
+import com.elif.expense_tracker_backend.budget.BudgetResponse;
 import com.elif.expense_tracker_backend.budget.BudgetSummary;
+import com.elif.expense_tracker_backend.security.UserPrincipal;
 import com.elif.expense_tracker_backend.service.BudgetService;
-import com.elif.expense_tracker_backend.user.User;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
@@ -32,19 +32,19 @@ public class BudgetController {
 
     @GetMapping
     public ResponseEntity<List<BudgetSummary>> list(Authentication authentication) {
-        User user = (User) authentication.getPrincipal();
+        UserPrincipal user = (UserPrincipal) authentication.getPrincipal();
         return ResponseEntity.ok(budgetService.listWithStatus(user));
     }
 
     @PostMapping
-    public ResponseEntity<Budget> create(Authentication authentication, @Valid @RequestBody BudgetRequest request) {
-        User user = (User) authentication.getPrincipal();
+    public ResponseEntity<BudgetResponse> create(Authentication authentication, @Valid @RequestBody BudgetRequest request) {
+        UserPrincipal user = (UserPrincipal) authentication.getPrincipal();
         return ResponseEntity.ok(budgetService.create(user, request));
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(Authentication authentication, @PathVariable Long id) {
-        User user = (User) authentication.getPrincipal();
+        UserPrincipal user = (UserPrincipal) authentication.getPrincipal();
         budgetService.delete(user, id);
         return ResponseEntity.noContent().build();
     }
@@ -2,8 +2,8 @@ package com.elif.expense_tracker_backend.controller;
 
 import com.elif.expense_tracker_backend.category.CategoryRequest;
 import com.elif.expense_tracker_backend.category.CategoryResponse;
+import com.elif.expense_tracker_backend.security.UserPrincipal;
 import com.elif.expense_tracker_backend.service.CategoryService;
-import com.elif.expense_tracker_backend.user.User;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
@@ -31,20 +31,20 @@ public class CategoryController {
 
     @GetMapping
     public ResponseEntity<List<CategoryResponse>> list(Authentication authentication) {
-        User user = (User) authentication.getPrincipal();
+        UserPrincipal user = (UserPrincipal) authentication.getPrincipal();
         return ResponseEntity.ok(categoryService.list(user));
     }
 
     @PostMapping
     public ResponseEntity<CategoryResponse> create(Authentication authentication,
                                                    @Valid @RequestBody CategoryRequest request) {
-        User user = (User) authentication.getPrincipal();
+        UserPrincipal user = (UserPrincipal) authentication.getPrincipal();
         return ResponseEntity.ok(categoryService.create(user, request));
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(Authentication authentication, @PathVariable Long id) {
-        User user = (User) authentication.getPrincipal();
+        UserPrincipal user = (UserPrincipal) authentication.getPrincipal();
         categoryService.delete(user, id);
         return ResponseEntity.noContent().build();
     }
@@ -0,0 +1,56 @@
+package com.elif.expense_tracker_backend.controller;
+
+import com.elif.expense_tracker_backend.dashboard.DashboardResponse;
+import com.elif.expense_tracker_backend.security.UserPrincipal;
+import com.elif.expense_tracker_backend.service.DashboardService;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+
+@RestController
+@RequestMapping("/api/dashboard")
+@SecurityRequirement(name = "BearerAuth")
+public class DashboardController {
+
+    private final DashboardService dashboardService;
+
+    public DashboardController(DashboardService dashboardService) {
+        this.dashboardService = dashboardService;
+    }
+
+    /**
+     * Reports, budgets, recurring payments, categories and the latest transactions in one
+     * response. How long each section took is in the Server-Timing header (browser dev tools
+     * show it next to the request).
+     */
+    @GetMapping
+    public ResponseEntity<DashboardResponse> dashboard(Authentication authentication,
+                                                       @RequestParam(value = "months", defaultValue = "6") int months,
+                                                       @RequestParam(value = "transactions", defaultValue = "5") int transactions) {
+        long started = System.nanoTime();
+        UserPrincipal user = (UserPrincipal) authentication.getPrincipal();
+        DashboardService.Dashboard dashboard = dashboardService.load(user, months, transactions);
+        return ResponseEntity.ok()
+                .header("Server-Timing", serverTiming(dashboard.sectionNanos(), System.nanoTime() - started))
+                .body(dashboard.response());
+    }
+
+    private static String serverTiming(Map<String, Long> sectionNanos, long totalNanos) {
+        StringJoiner header = new StringJoiner(", ");
+        sectionNanos.forEach((name, nanos) -> header.add(metric(name, nanos)));
+        header.add(metric("total", totalNanos));
+        return header.toString();
+    }
+
+    private static String metric(String name, long nanos) {
+        return String.format(Locale.ROOT, "%s;dur=%.1f", name, nanos / 1e6);
+    }
+}
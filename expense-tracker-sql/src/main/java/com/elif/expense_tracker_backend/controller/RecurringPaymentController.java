@@ -1,9 +1,9 @@
 package com.elif.expense_tracker_backend.controller;
 
-import com.elif.expense_tracker_backend.recurring.RecurringPayment;
 import com.elif.expense_tracker_backend.recurring.RecurringPaymentRequest;
+import com.elif.expense_tracker_backend.recurring.RecurringPaymentResponse;
+import com.elif.expense_tracker_backend.security.UserPrincipal;
 import com.elif.expense_tracker_backend.service.RecurringPaymentService;
-import com.elif.expense_tracker_backend.user.User;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
@@ -30,21 +30,21 @@ public class RecurringPaymentController {
     }
 
     @GetMapping
-    public ResponseEntity<List<RecurringPayment>> list(Authentication authentication) {
-        User user = (User) authentication.getPrincipal();
+    public ResponseEntity<List<RecurringPaymentResponse>> list(Authentication authentication) {
+        UserPrincipal user = (UserPrincipal) authentication.getPrincipal();
         return ResponseEntity.ok(recurringPaymentService.list(user));
     }
 
     @PostMapping
-    public ResponseEntity<RecurringPayment> create(Authentication authentication,
-                                                   @Valid @RequestBody RecurringPaymentRequest request) {
-        User user = (User) authentication.getPrincipal();
+    public ResponseEntity<RecurringPaymentResponse> create(Authentication authentication,
+                                                           @Valid @RequestBody RecurringPaymentRequest request) {
+        UserPrincipal user = (UserPrincipal) authentication.getPrincipal();
         return ResponseEntity.ok(recurringPaymentService.create(user, request));
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(Authentication authentication, @PathVariable Long id) {
-        User user = (User) authentication.getPrincipal();
+        UserPrincipal user = (UserPrincipal) authentication.getPrincipal();
         recurringPaymentService.delete(user, id);
         return ResponseEntity.noContent().build();
     }
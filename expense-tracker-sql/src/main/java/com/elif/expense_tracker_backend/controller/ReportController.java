@@ -2,8 +2,8 @@ package com.elif.expense_tracker_backend.controller;
 
 import com.elif.expense_tracker_backend.report.CategoryReportItem;
 import com.elif.expense_tracker_backend.report.MonthlyReportItem;
+import com.elif.expense_tracker_backend.security.UserPrincipal;
 import com.elif.expense_tracker_backend.service.ReportService;
-import com.elif.expense_tracker_backend.user.User;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -28,21 +28,21 @@ public class ReportController {
     @GetMapping("/monthly")
     public ResponseEntity<List<MonthlyReportItem>> monthly(Authentication authentication,
                                                            @RequestParam(value = "months", defaultValue = "6") int months) {
-        User user = (User) authentication.getPrincipal();
+        UserPrincipal user = (UserPrincipal) authentication.getPrincipal();
         return ResponseEntity.ok(reportService.monthly(user, months));
     }
 
     @GetMapping("/category")
     public ResponseEntity<List<CategoryReportItem>> category(Authentication authentication,
                                                              @RequestParam(value = "month", required = false) String month) {
-        User user = (User) authentication.getPrincipal();
+        UserPrincipal user = (UserPrincipal) authentication.getPrincipal();
         return ResponseEntity.ok(reportService.byCategory(user, month));
     }
 
     @GetMapping("/spending-trend")
     public ResponseEntity<List<MonthlyReportItem>> trend(Authentication authentication,
                                                          @RequestParam(value = "months", defaultValue = "6") int months) {
-        User user = (User) authentication.getPrincipal();
+        UserPrincipal user = (UserPrincipal) authentication.getPrincipal();
         return ResponseEntity.ok(reportService.spendingTrend(user, months));
     }
 }
@@ -0,0 +1,41 @@
+package com.elif.expense_tracker_backend.controller;
+
+import com.elif.expense_tracker_backend.security.UserPrincipal;
+import com.elif.expense_tracker_backend.service.StreamRegistry;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Server-sent events for the signed-in user, pushed after each write commits:
+ * "transaction" (created, updated or deleted through the API), "transactions" (added in bulk by
+ * the recurring run or an import) and "budget" (new status of a budget whose spend changed,
+ * with the threshold it crossed, if any).
+ */
+@RestController
+@RequestMapping("/api/stream")
+@SecurityRequirement(name = "BearerAuth")
+public class StreamController {
+
+    private final StreamRegistry streamRegistry;
+
+    public StreamController(StreamRegistry streamRegistry) {
+        this.streamRegistry = streamRegistry;
+    }
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> stream(Authentication authentication) {
+        UserPrincipal user = (UserPrincipal) authentication.getPrincipal();
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                // Keeps nginx-style proxies from buffering the events.
+                .header("X-Accel-Buffering", "no")
+                .body(streamRegistry.open(user.getId()));
+    }
+}
@@ -1,15 +1,23 @@
 package com.elif.expense_tracker_backend.controller;
 
+import com.elif.expense_tracker_backend.security.UserPrincipal;
+import com.elif.expense_tracker_backend.service.TransactionExportService;
+import com.elif.expense_tracker_backend.service.TransactionImportService;
 import com.elif.expense_tracker_backend.service.TransactionService;
+import com.elif.expense_tracker_backend.transaction.TransactionImportResult;
 import com.elif.expense_tracker_backend.transaction.TransactionRequest;
 import com.elif.expense_tracker_backend.transaction.TransactionResponse;
+import com.elif.expense_tracker_backend.transaction.TransactionSlice;
 import com.elif.expense_tracker_backend.transaction.TransactionType;
-import com.elif.expense_tracker_backend.user.User;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import org.springdoc.core.annotations.ParameterObject;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -18,9 +26,16 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 
 @RestController
 @RequestMapping("/api/transactions")
@@ -28,9 +43,15 @@ import org.springframework.web.bind.annotation.RestController;
 public class TransactionController {
 
     private final TransactionService transactionService;
+    private final TransactionImportService transactionImportService;
+    private final TransactionExportService transactionExportService;
 
-    public TransactionController(TransactionService transactionService) {
+    public TransactionController(TransactionService transactionService,
+                                 TransactionImportService transactionImportService,
+                                 TransactionExportService transactionExportService) {
         this.transactionService = transactionService;
+        this.transactionImportService = transactionImportService;
+        this.transactionExportService = transactionExportService;
     }
 
     @GetMapping
@@ -39,28 +60,77 @@ public class TransactionController {
                                                           @RequestParam(value = "categoryId", required = false) Long categoryId,
                                                           @RequestParam(value = "month", required = false) String month,
                                                           @ParameterObject Pageable pageable) {
-        User user = (User) authentication.getPrincipal();
+        UserPrincipal user = (UserPrincipal) authentication.getPrincipal();
         return ResponseEntity.ok(transactionService.list(user, type, categoryId, month, pageable));
     }
 
+    @GetMapping("/cursor")
+    public ResponseEntity<TransactionSlice> listAfter(Authentication authentication,
+                                                      @RequestParam(value = "type", required = false) TransactionType type,
+                                                      @RequestParam(value = "categoryId", required = false) Long categoryId,
+                                                      @RequestParam(value = "month", required = false) String month,
+                                                      @RequestParam(value = "cursor", required = false) String cursor,
+                                                      @RequestParam(value = "size", defaultValue = "20") int size) {
+        UserPrincipal user = (UserPrincipal) authentication.getPrincipal();
+        return ResponseEntity.ok(transactionService.listAfter(user, type, categoryId, month, cursor, size));
+    }
+
+    /**
+     * Streams every matching transaction, oldest first, as CSV (default) or NDJSON
+     * ({@code format=NDJSON}). from/to are inclusive ISO dates.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(Authentication authentication,
+                                                        @RequestParam(value = "type", required = false) TransactionType type,
+                                                        @RequestParam(value = "categoryId", required = false) Long categoryId,
+                                                        @RequestParam(value = "month", required = false) String month,
+                                                        @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                        @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                        @RequestParam(value = "format", defaultValue = "CSV") TransactionExportService.Format format) {
+        UserPrincipal user = (UserPrincipal) authentication.getPrincipal();
+        boolean ndjson = format == TransactionExportService.Format.NDJSON;
+        return ResponseEntity.ok()
+                .contentType(ndjson ? MediaType.APPLICATION_NDJSON : new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(ndjson ? "transactions.ndjson" : "transactions.csv")
+                        .build()
+                        .toString())
+                .body(transactionExportService.export(user, type, categoryId, month, from, to, format));
+    }
+
     @PostMapping
     public ResponseEntity<TransactionResponse> create(Authentication authentication,
                                                       @Valid @RequestBody TransactionRequest request) {
-        User user = (User) authentication.getPrincipal();
+        UserPrincipal user = (UserPrincipal) authentication.getPrincipal();
         return ResponseEntity.ok(transactionService.toResponse(transactionService.create(user, request)));
     }
 
+    /**
+     * Bulk import from text/csv (header row: date,type,category,amount,note) or
+     * application/x-ndjson (one object per line with the same keys). The body is streamed.
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<TransactionImportResult> importTransactions(Authentication authentication,
+                                                                      @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                                      InputStream body) throws IOException {
+        UserPrincipal user = (UserPrincipal) authentication.getPrincipal();
+        TransactionImportService.Format format = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.APPLICATION_NDJSON)
+                ? TransactionImportService.Format.NDJSON
+                : TransactionImportService.Format.CSV;
+        return ResponseEntity.ok(transactionImportService.importTransactions(user, body, format));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<TransactionResponse> update(Authentication authentication,
                                                       @PathVariable Long id,
                                                       @Valid @RequestBody TransactionRequest request) {
-        User user = (User) authentication.getPrincipal();
+        UserPrincipal user = (UserPrincipal) authentication.getPrincipal();
         return ResponseEntity.ok(transactionService.toResponse(transactionService.update(user, id, request)));
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(Authentication authentication, @PathVariable Long id) {
-        User user = (User) authentication.getPrincipal();
+        UserPrincipal user = (UserPrincipal) authentication.getPrincipal();
         transactionService.delete(user, id);
         return ResponseEntity.noContent().build();
     }
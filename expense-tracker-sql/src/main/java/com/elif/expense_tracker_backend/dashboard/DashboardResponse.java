@@ -0,0 +1,27 @@
+package com.elif.expense_tracker_backend.dashboard;
+
+import com.elif.expense_tracker_backend.budget.BudgetSummary;
+import com.elif.expense_tracker_backend.category.CategoryResponse;
+import com.elif.expense_tracker_backend.recurring.RecurringPaymentResponse;
+import com.elif.expense_tracker_backend.report.CategoryReportItem;
+import com.elif.expense_tracker_backend.report.MonthlyReportItem;
+import com.elif.expense_tracker_backend.transaction.TransactionResponse;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Everything the dashboard shows. {@code spendingTrend} is the same series as {@code monthly}.
+ */
+@Getter
+@Builder
+public class DashboardResponse {
+    private List<MonthlyReportItem> monthly;
+    private List<MonthlyReportItem> spendingTrend;
+    private List<CategoryReportItem> byCategory;
+    private List<BudgetSummary> budgets;
+    private List<RecurringPaymentResponse> recurring;
+    private List<CategoryResponse> categories;
+    private List<TransactionResponse> recentTransactions;
+}
@@ -1,7 +1,17 @@
 package com.elif.expense_tracker_backend.recurring;
 
+import java.time.LocalDate;
+
 public enum RecurrenceFrequency {
     DAILY,
     WEEKLY,
-    MONTHLY
+    MONTHLY;
+
+    public LocalDate next(LocalDate current) {
+        return switch (this) {
+            case DAILY -> current.plusDays(1);
+            case WEEKLY -> current.plusWeeks(1);
+            case MONTHLY -> current.plusMonths(1);
+        };
+    }
 }
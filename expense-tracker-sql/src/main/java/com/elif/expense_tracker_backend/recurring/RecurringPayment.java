@@ -15,6 +15,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -33,11 +34,13 @@ import java.time.LocalDate;
 @AllArgsConstructor
 @Entity
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+// Indexed in V3 with a partial index on next_run where active, which @Index cannot express.
 @Table(name = "recurring_payments")
 public class RecurringPayment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "recurring_payments_seq")
+    @SequenceGenerator(name = "recurring_payments_seq", sequenceName = "recurring_payments_seq", allocationSize = 50)
     private Long id;
 
     @JsonIgnore
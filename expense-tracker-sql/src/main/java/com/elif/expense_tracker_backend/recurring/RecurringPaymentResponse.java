@@ -0,0 +1,24 @@
+package com.elif.expense_tracker_backend.recurring;
+
+import com.elif.expense_tracker_backend.category.CategoryResponse;
+import com.elif.expense_tracker_backend.transaction.TransactionType;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+
+@Getter
+@Builder
+public class RecurringPaymentResponse {
+    private Long id;
+    private TransactionType type;
+    private CategoryResponse category;
+    private BigDecimal amount;
+    private String note;
+    private RecurrenceFrequency frequency;
+    private LocalDate nextRun;
+    private boolean active;
+    private Instant createdAt;
+}
@@ -0,0 +1,25 @@
+package com.elif.expense_tracker_backend.recurring;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Counts produced by one chunk, or by a whole run, of the recurring payment processor.
+ */
+@Getter
+@AllArgsConstructor
+public class RecurringRunResult {
+
+    public static final RecurringRunResult EMPTY = new RecurringRunResult(0, 0, 0);
+
+    private final int payments;
+    private final int transactions;
+    private final int failedChunks;
+
+    public RecurringRunResult plus(RecurringRunResult other) {
+        return new RecurringRunResult(
+                payments + other.payments,
+                transactions + other.transactions,
+                failedChunks + other.failedChunks);
+    }
+}
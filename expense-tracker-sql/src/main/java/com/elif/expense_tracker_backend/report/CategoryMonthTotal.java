@@ -0,0 +1,18 @@
+package com.elif.expense_tracker_backend.report;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+/**
+ * Aggregate row keyed by lower-cased category name and "YYYY-MM" month,
+ * matching how budgets reference their category.
+ */
+@Getter
+@AllArgsConstructor
+public class CategoryMonthTotal {
+    private String categoryName;
+    private String month;
+    private BigDecimal total;
+}
@@ -0,0 +1,17 @@
+package com.elif.expense_tracker_backend.report;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+/**
+ * Aggregate row produced by the report queries: one sum per category.
+ */
+@Getter
+@AllArgsConstructor
+public class CategoryTotal {
+    private Long categoryId;
+    private String categoryName;
+    private BigDecimal total;
+}
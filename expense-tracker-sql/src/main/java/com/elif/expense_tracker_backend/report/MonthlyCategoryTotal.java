@@ -0,0 +1,68 @@
+package com.elif.expense_tracker_backend.report;
+
+import com.elif.expense_tracker_backend.category.Category;
+import com.elif.expense_tracker_backend.transaction.TransactionType;
+import com.elif.expense_tracker_backend.user.User;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+/**
+ * Rollup of transaction amounts per user, category, month and type.
+ * Maintained incrementally by {@link com.elif.expense_tracker_backend.service.MonthlyRollupService}
+ * in the same transaction as the write, so reports never have to scan raw transactions.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "monthly_category_totals", uniqueConstraints = {
+        @UniqueConstraint(columnNames = {"user_id", "category_id", "month_key", "type"})
+})
+public class MonthlyCategoryTotal {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "monthly_category_totals_seq")
+    @SequenceGenerator(name = "monthly_category_totals_seq", sequenceName = "monthly_category_totals_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "category_id", nullable = false)
+    private Category category;
+
+    /**
+     * Stored as "YYYY-MM", same format as budgets.
+     */
+    @Column(name = "month_key", nullable = false, length = 7)
+    private String month;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TransactionType type;
+
+    @Column(nullable = false)
+    private BigDecimal total;
+}
@@ -0,0 +1,27 @@
+package com.elif.expense_tracker_backend.report;
+
+import com.elif.expense_tracker_backend.transaction.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+/**
+ * Rollup row recomputed from raw transactions, used to rebuild and verify
+ * the monthly_category_totals table.
+ */
+@Getter
+@AllArgsConstructor
+public class MonthlyCategoryTotalRow {
+    private Long userId;
+    private Long categoryId;
+    private Integer year;
+    private Integer month;
+    private TransactionType type;
+    private BigDecimal total;
+
+    public String getMonthKey() {
+        return YearMonth.of(year, month).toString();
+    }
+}
@@ -0,0 +1,14 @@
+package com.elif.expense_tracker_backend.report;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class ReportCacheStats {
+    private final long size;
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final long invalidations;
+}
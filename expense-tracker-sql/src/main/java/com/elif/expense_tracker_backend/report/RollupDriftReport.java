@@ -0,0 +1,25 @@
+package com.elif.expense_tracker_backend.report;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * Result of comparing monthly_category_totals against totals recomputed from transactions.
+ */
+@Getter
+@Builder
+public class RollupDriftReport {
+    private final Instant checkedAt = Instant.now();
+    private final int expectedRows;
+    private final int actualRows;
+    private final int mismatchedRows;
+    private final int missingRows;
+    private final int extraRows;
+    private final boolean rebuilt;
+
+    public boolean isClean() {
+        return mismatchedRows == 0 && missingRows == 0 && extraRows == 0;
+    }
+}
@@ -1,12 +1,16 @@
 package com.elif.expense_tracker_backend.repository;
 
 import com.elif.expense_tracker_backend.category.Category;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.List;
 import java.util.Optional;
 
 public interface CategoryRepository extends JpaRepository<Category, Long> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Category> findByUserId(Long userId);
     Optional<Category> findByUserIdAndNameIgnoreCase(Long userId, String name);
 }
@@ -0,0 +1,74 @@
+package com.elif.expense_tracker_backend.repository;
+
+import com.elif.expense_tracker_backend.report.CategoryMonthTotal;
+import com.elif.expense_tracker_backend.report.CategoryTotal;
+import com.elif.expense_tracker_backend.report.MonthlyCategoryTotal;
+import com.elif.expense_tracker_backend.report.MonthlyReportItem;
+import com.elif.expense_tracker_backend.transaction.TransactionType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface MonthlyCategoryTotalRepository extends JpaRepository<MonthlyCategoryTotal, Long> {
+
+    @Modifying
+    @Query("delete from MonthlyCategoryTotal r where r.category.id = :categoryId")
+    int deleteByCategoryId(@Param("categoryId") Long categoryId);
+
+    @Query("""
+            select new com.elif.expense_tracker_backend.report.MonthlyReportItem(r.month, sum(r.total))
+            from MonthlyCategoryTotal r
+            where r.user.id = :userId
+              and r.type = :type
+              and r.month between :fromMonth and :toMonth
+            group by r.month
+            having sum(r.total) <> 0
+            order by r.month
+            """)
+    List<MonthlyReportItem> sumByMonth(@Param("userId") Long userId,
+                                       @Param("type") TransactionType type,
+                                       @Param("fromMonth") String fromMonth,
+                                       @Param("toMonth") String toMonth);
+
+    @Query("""
+            select new com.elif.expense_tracker_backend.report.CategoryTotal(c.id, c.name, sum(r.total))
+            from MonthlyCategoryTotal r join r.category c
+            where r.user.id = :userId
+              and r.type = :type
+            group by c.id, c.name
+            having sum(r.total) <> 0
+            """)
+    List<CategoryTotal> sumByCategory(@Param("userId") Long userId,
+                                      @Param("type") TransactionType type);
+
+    @Query("""
+            select new com.elif.expense_tracker_backend.report.CategoryTotal(c.id, c.name, sum(r.total))
+            from MonthlyCategoryTotal r join r.category c
+            where r.user.id = :userId
+              and r.type = :type
+              and r.month = :month
+            group by c.id, c.name
+            having sum(r.total) <> 0
+            """)
+    List<CategoryTotal> sumByCategoryForMonth(@Param("userId") Long userId,
+                                              @Param("type") TransactionType type,
+                                              @Param("month") String month);
+
+    @Query("""
+            select new com.elif.expense_tracker_backend.report.CategoryMonthTotal(lower(c.name), r.month, sum(r.total))
+            from MonthlyCategoryTotal r join r.category c
+            where r.user.id = :userId
+              and r.type = :type
+              and lower(c.name) in :categoryNames
+              and r.month in :months
+            group by lower(c.name), r.month
+            """)
+    List<CategoryMonthTotal> sumByCategoryNameAndMonth(@Param("userId") Long userId,
+                                                       @Param("type") TransactionType type,
+                                                       @Param("categoryNames") Collection<String> categoryNames,
+                                                       @Param("months") Collection<String> months);
+}
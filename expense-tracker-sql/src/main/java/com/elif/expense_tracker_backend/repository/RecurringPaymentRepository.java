@@ -1,12 +1,35 @@
 package com.elif.expense_tracker_backend.repository;
 
 import com.elif.expense_tracker_backend.recurring.RecurringPayment;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 public interface RecurringPaymentRepository extends JpaRepository<RecurringPayment, Long> {
+    @EntityGraph(attributePaths = "category")
     List<RecurringPayment> findByUserId(Long userId);
-    List<RecurringPayment> findByActiveTrueAndNextRunLessThanEqual(LocalDate date);
+
+    @Query("""
+            select p.id from RecurringPayment p
+            where p.active = true and p.nextRun <= :date and p.id > :afterId
+            order by p.id
+            """)
+    List<Long> findDueIdsAfter(@Param("date") LocalDate date, @Param("afterId") Long afterId, Pageable pageable);
+
+    // Re-checks the due condition under a row lock, so concurrent runs cannot charge a payment twice.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            select p from RecurringPayment p
+            where p.id in :ids and p.active = true and p.nextRun <= :date
+            order by p.id
+            """)
+    List<RecurringPayment> lockDueByIds(@Param("ids") Collection<Long> ids, @Param("date") LocalDate date);
 }
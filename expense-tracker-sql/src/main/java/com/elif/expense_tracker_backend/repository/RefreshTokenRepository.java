@@ -1,12 +1,20 @@
 package com.elif.expense_tracker_backend.repository;
 
 import com.elif.expense_tracker_backend.token.RefreshToken;
-import com.elif.expense_tracker_backend.user.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
-    Optional<RefreshToken> findByToken(String token);
-    void deleteByUser(User user);
+
+    @Query("select t from RefreshToken t join fetch t.user where t.tokenHash = :tokenHash")
+    Optional<RefreshToken> findByTokenHash(@Param("tokenHash") String tokenHash);
+
+    @Query("select t.id from RefreshToken t where t.expiryDate < :now order by t.id")
+    List<Long> findExpiredIds(@Param("now") Instant now, Pageable pageable);
 }
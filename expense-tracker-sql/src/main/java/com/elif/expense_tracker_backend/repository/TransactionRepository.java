@@ -1,8 +1,31 @@
 package com.elif.expense_tracker_backend.repository;
 
+import com.elif.expense_tracker_backend.report.MonthlyCategoryTotalRow;
 import com.elif.expense_tracker_backend.transaction.Transaction;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
 
 public interface TransactionRepository extends JpaRepository<Transaction, Long>, JpaSpecificationExecutor<Transaction> {
+
+    // Listings render the category name, so it is joined into the page query.
+    @Override
+    @EntityGraph(attributePaths = "category")
+    Page<Transaction> findAll(Specification<Transaction> spec, Pageable pageable);
+
+    // Recomputes the monthly rollup from raw rows; year()/month() are HQL functions,
+    // so the same query runs on MySQL and PostgreSQL.
+    @Query("""
+            select new com.elif.expense_tracker_backend.report.MonthlyCategoryTotalRow(
+                t.user.id, t.category.id, year(t.transactionDate), month(t.transactionDate), t.type, sum(t.amount))
+            from Transaction t
+            group by t.user.id, t.category.id, year(t.transactionDate), month(t.transactionDate), t.type
+            """)
+    List<MonthlyCategoryTotalRow> sumForRollup();
 }
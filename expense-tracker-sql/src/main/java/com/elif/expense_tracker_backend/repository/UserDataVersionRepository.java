@@ -0,0 +1,14 @@
+package com.elif.expense_tracker_backend.repository;
+
+import com.elif.expense_tracker_backend.user.UserDataVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface UserDataVersionRepository extends JpaRepository<UserDataVersion, Long> {
+
+    @Query("select v.version from UserDataVersion v where v.userId = :userId")
+    Optional<Long> findVersion(@Param("userId") Long userId);
+}
@@ -1,11 +1,17 @@
 package com.elif.expense_tracker_backend.repository;
 
 import com.elif.expense_tracker_backend.user.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
+    // Cached so the database-backed token check resolves the user (and its roles) from the
+    // second-level cache; any write to users invalidates the cached lookups.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
 }
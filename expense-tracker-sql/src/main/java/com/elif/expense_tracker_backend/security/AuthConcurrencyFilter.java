@@ -0,0 +1,99 @@
+package com.elif.expense_tracker_backend.security;
+
+import com.elif.expense_tracker_backend.exception.ApiError;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Gives /api/auth its own concurrency budget: at most {@code maxConcurrent} auth requests are
+ * in progress at once and the rest are answered 429 straight away, so a login burst cannot
+ * take every request thread from the rest of the API. Runs ahead of the security chain.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class AuthConcurrencyFilter extends OncePerRequestFilter implements MeterBinder {
+
+    private static final String AUTH_PATH = "/api/auth/";
+
+    private final Semaphore permits;
+    private final int maxConcurrent;
+    private final ObjectMapper objectMapper;
+    private final LongAdder rejected = new LongAdder();
+
+    public AuthConcurrencyFilter(@Value("${security.auth.max-concurrent-requests:50}") int maxConcurrent,
+                                 ObjectMapper objectMapper) {
+        this.permits = new Semaphore(maxConcurrent);
+        this.maxConcurrent = maxConcurrent;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(request.getContextPath() + AUTH_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        if (!permits.tryAcquire()) {
+            rejected.increment();
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), ApiError.builder()
+                    .status(HttpStatus.TOO_MANY_REQUESTS.value())
+                    .error(HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase())
+                    .message("Too many sign-in requests, try again shortly")
+                    .path(request.getRequestURI())
+                    .build());
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public int getInFlight() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("auth.requests.in.flight", this, AuthConcurrencyFilter::getInFlight)
+                .register(registry);
+        FunctionCounter.builder("auth.requests.rejected", rejected, LongAdder::sum)
+                .description("Auth requests answered 429 because the budget was used up")
+                .register(registry);
+    }
+}
@@ -1,9 +1,12 @@
 package com.elif.expense_tracker_backend.security;
 
+import com.elif.expense_tracker_backend.user.User;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -22,11 +25,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final boolean statelessPrincipal;
 
     // 🔹 Burada @Lazy ekledik, bean döngüsünü kırmak için
-    public JwtAuthenticationFilter(JwtService jwtService, @Lazy UserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(JwtService jwtService,
+                                   @Lazy UserDetailsService userDetailsService,
+                                   @Value("${jwt.stateless-principal:false}") boolean statelessPrincipal) {
         this.jwtService = jwtService;
         this.userDetailsService = userDetailsService;
+        this.statelessPrincipal = statelessPrincipal;
     }
 
     @Override
@@ -36,7 +43,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
-        final String userEmail;
+        final Claims claims;
 
         if (authHeader == null || !authHeader.toLowerCase().startsWith("bearer")) {
             filterChain.doFilter(request, response);
@@ -52,21 +59,30 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         jwt = tokenPart;
 
         try {
-            userEmail = jwtService.extractUsername(jwt);
+            // Parsed and verified once; every check below works off these claims.
+            claims = jwtService.extractAllClaims(jwt);
         } catch (Exception e) {
             // If token is malformed/expired, skip JWT auth and let controller handle (e.g., login/register)
             filterChain.doFilter(request, response);
             return;
         }
 
+        final String userEmail = claims.getSubject();
         if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+            UserPrincipal principal = statelessPrincipal ? jwtService.extractPrincipal(claims) : null;
+            if (principal == null) {
+                // Older tokens (or stateless mode switched off) still resolve the user from the database.
+                UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+                if (jwtService.isTokenValid(claims, userDetails)) {
+                    principal = UserPrincipal.from((User) userDetails);
+                }
+            }
 
-            if (jwtService.isTokenValid(jwt, userDetails)) {
+            if (principal != null) {
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails,
+                        principal,
                         null,
-                        userDetails.getAuthorities()
+                        principal.getAuthorities()
                 );
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authToken);
@@ -0,0 +1,13 @@
+package com.elif.expense_tracker_backend.security;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class JwtCacheStats {
+    private final long size;
+    private final long hits;
+    private final long misses;
+    private final double hitRate;
+}
@@ -0,0 +1,18 @@
+package com.elif.expense_tracker_backend.security;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class PasswordHashingStats {
+    private final int threads;
+    private final int active;
+    private final int queued;
+    private final int queueCapacity;
+    private final long hashes;
+    private final long rejected;
+    private final double averageQueueMillis;
+    private final double averageHashMillis;
+    private final double maxHashMillis;
+}
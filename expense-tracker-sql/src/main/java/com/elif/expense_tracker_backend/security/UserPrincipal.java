@@ -0,0 +1,72 @@
+package com.elif.expense_tracker_backend.security;
+
+import com.elif.expense_tracker_backend.user.RoleType;
+import com.elif.expense_tracker_backend.user.User;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Lightweight authenticated principal built from JWT claims, so a request does not
+ * need to load the {@link User} entity. Services that must link an entity to the user
+ * use {@code userRepository.getReferenceById(principal.getId())}.
+ */
+@Getter
+public class UserPrincipal implements UserDetails {
+
+    private final Long id;
+    private final String email;
+    private final Set<RoleType> roles;
+
+    public UserPrincipal(Long id, String email, Set<RoleType> roles) {
+        this.id = id;
+        this.email = email;
+        this.roles = Set.copyOf(roles);
+    }
+
+    public static UserPrincipal from(User user) {
+        return new UserPrincipal(user.getId(), user.getEmail(), user.getRoles());
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return roles.stream()
+                .map(role -> new SimpleGrantedAuthority(role.name()))
+                .collect(Collectors.toSet());
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+}
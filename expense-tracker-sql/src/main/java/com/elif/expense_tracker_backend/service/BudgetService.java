@@ -2,96 +2,171 @@ package com.elif.expense_tracker_backend.service;
 
 import com.elif.expense_tracker_backend.budget.Budget;
 import com.elif.expense_tracker_backend.budget.BudgetRequest;
+import com.elif.expense_tracker_backend.budget.BudgetResponse;
 import com.elif.expense_tracker_backend.budget.BudgetSummary;
+import com.elif.expense_tracker_backend.report.CategoryMonthTotal;
+import com.elif.expense_tracker_backend.stream.BudgetEvent;
 import com.elif.expense_tracker_backend.repository.BudgetRepository;
-import com.elif.expense_tracker_backend.repository.TransactionRepository;
+import com.elif.expense_tracker_backend.repository.MonthlyCategoryTotalRepository;
+import com.elif.expense_tracker_backend.repository.UserRepository;
+import com.elif.expense_tracker_backend.security.UserPrincipal;
 import com.elif.expense_tracker_backend.transaction.TransactionType;
-import com.elif.expense_tracker_backend.transaction.Transaction;
-import com.elif.expense_tracker_backend.user.User;
-import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.math.BigDecimal;
-import java.time.LocalDate;
-import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 public class BudgetService {
 
     private final BudgetRepository budgetRepository;
-    private final TransactionRepository transactionRepository;
+    private final MonthlyCategoryTotalRepository rollupRepository;
+    private final UserRepository userRepository;
+    private final DataVersions dataVersions;
 
-    public BudgetService(BudgetRepository budgetRepository, TransactionRepository transactionRepository) {
+    public BudgetService(BudgetRepository budgetRepository,
+                         MonthlyCategoryTotalRepository rollupRepository,
+                         UserRepository userRepository,
+                         DataVersions dataVersions) {
         this.budgetRepository = budgetRepository;
-        this.transactionRepository = transactionRepository;
+        this.rollupRepository = rollupRepository;
+        this.userRepository = userRepository;
+        this.dataVersions = dataVersions;
     }
 
-    public Budget create(User user, BudgetRequest request) {
+    public BudgetResponse create(UserPrincipal user, BudgetRequest request) {
         budgetRepository.findByUserIdAndCategoryIgnoreCaseAndMonth(user.getId(), request.getCategory(), request.getMonth())
                 .ifPresent(existing -> {
                     throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Budget already exists for this category/month");
                 });
 
         Budget budget = Budget.builder()
-                .user(user)
+                .user(userRepository.getReferenceById(user.getId()))
                 .category(request.getCategory())
                 .month(request.getMonth())
                 .limitAmount(request.getLimitAmount())
                 .warningThreshold(request.getWarningThreshold())
                 .build();
-        return budgetRepository.save(budget);
+        Budget saved = budgetRepository.save(budget);
+        dataVersions.bump(user.getId());
+        return BudgetResponse.builder()
+                .id(saved.getId())
+                .category(saved.getCategory())
+                .month(saved.getMonth())
+                .limitAmount(saved.getLimitAmount())
+                .warningThreshold(saved.getWarningThreshold())
+                .createdAt(saved.getCreatedAt())
+                .build();
     }
 
-    public List<BudgetSummary> listWithStatus(User user) {
+    @Transactional(readOnly = true)
+    public List<BudgetSummary> listWithStatus(UserPrincipal user) {
         List<Budget> budgets = budgetRepository.findByUserId(user.getId());
+        if (budgets.isEmpty()) {
+            return List.of();
+        }
+
+        Map<String, BigDecimal> spentByKey = spentByKey(user.getId(), budgets);
         return budgets.stream()
+                .map(budget -> toSummary(budget, spentByKey.getOrDefault(
+                        spendKey(budget.getCategory().toLowerCase(), budget.getMonth()), BigDecimal.ZERO)))
+                .toList();
+    }
+
+    /**
+     * The user's budgets whose spend moved by the given deltas (keyed by {@link #spendKey}), with
+     * the threshold each change pushed them over, if any. Runs inside the writing transaction,
+     * so the rollup already includes the deltas.
+     */
+    public List<BudgetEvent> budgetEvents(Long userId, Map<String, BigDecimal> spendDeltas) {
+        List<Budget> touched = budgetRepository.findByUserId(userId).stream()
+                .filter(budget -> spendDeltas.containsKey(spendKey(budget.getCategory().toLowerCase(), budget.getMonth())))
+                .toList();
+        if (touched.isEmpty()) {
+            return List.of();
+        }
+
+        Map<String, BigDecimal> spentByKey = spentByKey(userId, touched);
+        return touched.stream()
                 .map(budget -> {
-                    YearMonth ym = YearMonth.parse(budget.getMonth());
-                    LocalDate start = ym.atDay(1);
-                    LocalDate end = ym.atEndOfMonth();
-                    Specification<com.elif.expense_tracker_backend.transaction.Transaction> spec =
-                            (root, query, cb) -> cb.equal(root.get("user").get("id"), user.getId());
-                    spec = spec.and((root, query, cb) -> cb.between(root.get("transactionDate"), start, end));
-                    spec = spec.and((root, query, cb) -> cb.equal(
-                            cb.lower(root.get("category").get("name")), budget.getCategory().toLowerCase()
-                    ));
-
-                    List<com.elif.expense_tracker_backend.transaction.Transaction> txs = transactionRepository.findAll(spec);
-                    BigDecimal spent = txs.stream()
-                            .filter(tx -> tx.getType() == TransactionType.EXPENSE)
-                            .map(Transaction::getAmount)
-                            .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-                    double utilization = budget.getLimitAmount().doubleValue() == 0
-                            ? 0
-                            : spent.doubleValue() / budget.getLimitAmount().doubleValue();
-                    boolean exceeded = spent.compareTo(budget.getLimitAmount()) > 0;
-                    boolean nearLimit = utilization >= budget.getWarningThreshold() && !exceeded;
-
-                    return BudgetSummary.builder()
-                            .id(budget.getId())
-                            .category(budget.getCategory())
-                            .month(budget.getMonth())
-                            .limitAmount(budget.getLimitAmount())
-                            .warningThreshold(budget.getWarningThreshold())
-                            .spent(spent)
-                            .utilization(utilization)
-                            .exceeded(exceeded)
-                            .nearLimit(nearLimit)
+                    String key = spendKey(budget.getCategory().toLowerCase(), budget.getMonth());
+                    BigDecimal spent = spentByKey.getOrDefault(key, BigDecimal.ZERO);
+                    BudgetSummary before = toSummary(budget, spent.subtract(spendDeltas.get(key)));
+                    BudgetSummary after = toSummary(budget, spent);
+                    return BudgetEvent.builder()
+                            .budget(after)
+                            .crossed(crossed(before, after))
                             .build();
                 })
                 .toList();
     }
 
-    public void delete(User user, Long id) {
+    public void delete(UserPrincipal user, Long id) {
         Budget budget = budgetRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Budget not found"));
         if (!budget.getUser().getId().equals(user.getId())) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Not your budget");
         }
         budgetRepository.delete(budget);
+        dataVersions.bump(user.getId());
+    }
+
+    private BudgetSummary toSummary(Budget budget, BigDecimal spent) {
+        double utilization = budget.getLimitAmount().doubleValue() == 0
+                ? 0
+                : spent.doubleValue() / budget.getLimitAmount().doubleValue();
+        boolean exceeded = spent.compareTo(budget.getLimitAmount()) > 0;
+        boolean nearLimit = utilization >= budget.getWarningThreshold() && !exceeded;
+
+        return BudgetSummary.builder()
+                .id(budget.getId())
+                .category(budget.getCategory())
+                .month(budget.getMonth())
+                .limitAmount(budget.getLimitAmount())
+                .warningThreshold(budget.getWarningThreshold())
+                .spent(spent)
+                .utilization(utilization)
+                .exceeded(exceeded)
+                .nearLimit(nearLimit)
+                .build();
+    }
+
+    // One grouped rollup query covers every budget: spent per (category, month),
+    // joined back to the budgets in memory.
+    private Map<String, BigDecimal> spentByKey(Long userId, List<Budget> budgets) {
+        Set<String> categoryNames = new HashSet<>();
+        Set<String> months = new HashSet<>();
+        for (Budget budget : budgets) {
+            categoryNames.add(budget.getCategory().toLowerCase());
+            months.add(budget.getMonth());
+        }
+
+        Map<String, BigDecimal> spentByKey = new HashMap<>();
+        for (CategoryMonthTotal total : rollupRepository.sumByCategoryNameAndMonth(
+                userId, TransactionType.EXPENSE, categoryNames, months)) {
+            spentByKey.merge(spendKey(total.getCategoryName(), total.getMonth()), total.getTotal(), BigDecimal::add);
+        }
+        return spentByKey;
+    }
+
+    private static String crossed(BudgetSummary before, BudgetSummary after) {
+        if (after.isExceeded() && !before.isExceeded()) {
+            return "exceeded";
+        }
+        if (after.isNearLimit() && !before.isNearLimit() && !before.isExceeded()) {
+            return "nearLimit";
+        }
+        return null;
+    }
+
+    static String spendKey(String lowerCategory, String month) {
+        return lowerCategory + "|" + month;
     }
 }
@@ -4,9 +4,11 @@ import com.elif.expense_tracker_backend.category.Category;
 import com.elif.expense_tracker_backend.category.CategoryRequest;
 import com.elif.expense_tracker_backend.category.CategoryResponse;
 import com.elif.expense_tracker_backend.repository.CategoryRepository;
-import com.elif.expense_tracker_backend.user.User;
+import com.elif.expense_tracker_backend.repository.UserRepository;
+import com.elif.expense_tracker_backend.security.UserPrincipal;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
@@ -15,43 +17,56 @@ import java.util.List;
 public class CategoryService {
 
     private final CategoryRepository categoryRepository;
+    private final MonthlyRollupService monthlyRollupService;
+    private final DataVersions dataVersions;
+    private final UserRepository userRepository;
 
-    public CategoryService(CategoryRepository categoryRepository) {
+    public CategoryService(CategoryRepository categoryRepository,
+                           MonthlyRollupService monthlyRollupService,
+                           DataVersions dataVersions,
+                           UserRepository userRepository) {
         this.categoryRepository = categoryRepository;
+        this.monthlyRollupService = monthlyRollupService;
+        this.dataVersions = dataVersions;
+        this.userRepository = userRepository;
     }
 
-    public List<CategoryResponse> list(User user) {
+    public List<CategoryResponse> list(UserPrincipal user) {
         return categoryRepository.findByUserId(user.getId())
                 .stream()
                 .map(this::toResponse)
                 .toList();
     }
 
-    public CategoryResponse create(User user, CategoryRequest request) {
+    public CategoryResponse create(UserPrincipal user, CategoryRequest request) {
         categoryRepository.findByUserIdAndNameIgnoreCase(user.getId(), request.getName())
                 .ifPresent(c -> {
                     throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Category already exists");
                 });
 
         Category category = Category.builder()
-                .user(user)
+                .user(userRepository.getReferenceById(user.getId()))
                 .name(request.getName())
                 .type(request.getType())
                 .build();
         categoryRepository.save(category);
+        dataVersions.bump(user.getId());
         return toResponse(category);
     }
 
-    public void delete(User user, Long id) {
+    @Transactional
+    public void delete(UserPrincipal user, Long id) {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Category not found"));
         if (!category.getUser().getId().equals(user.getId())) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Not your category");
         }
+        monthlyRollupService.deleteForCategory(category.getId());
         categoryRepository.delete(category);
+        dataVersions.bump(user.getId());
     }
 
-    public Category getOwned(User user, Long id) {
+    public Category getOwned(UserPrincipal user, Long id) {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Category not found"));
         if (!category.getUser().getId().equals(user.getId())) {
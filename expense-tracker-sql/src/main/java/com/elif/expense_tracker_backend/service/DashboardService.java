@@ -0,0 +1,130 @@
+package com.elif.expense_tracker_backend.service;
+
+import com.elif.expense_tracker_backend.budget.BudgetSummary;
+import com.elif.expense_tracker_backend.category.CategoryResponse;
+import com.elif.expense_tracker_backend.config.SqlStatementCounter;
+import com.elif.expense_tracker_backend.dashboard.DashboardResponse;
+import com.elif.expense_tracker_backend.recurring.RecurringPaymentResponse;
+import com.elif.expense_tracker_backend.report.CategoryReportItem;
+import com.elif.expense_tracker_backend.report.MonthlyReportItem;
+import com.elif.expense_tracker_backend.security.UserPrincipal;
+import com.elif.expense_tracker_backend.transaction.TransactionResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Builds the whole dashboard in one call. The sections are independent reads, so they run
+ * concurrently on a small fixed pool, each on its own connection; when the pool and
+ * its queue are full a section runs on the request thread instead, so a burst of dashboards
+ * never holds more than {@code threads} extra connections. The spending trend is the monthly
+ * series, so it is fetched once. Statements a section runs count towards the request's
+ * {@link SqlStatementCounter} tally whichever thread runs it.
+ */
+@Service
+public class DashboardService implements AutoCloseable {
+
+    private static final int MAX_RECENT_TRANSACTIONS = 50;
+
+    private final ReportService reportService;
+    private final BudgetService budgetService;
+    private final RecurringPaymentService recurringPaymentService;
+    private final CategoryService categoryService;
+    private final TransactionService transactionService;
+    private final SqlStatementCounter sqlStatementCounter;
+    private final ThreadPoolExecutor executor;
+
+    public DashboardService(ReportService reportService,
+                            BudgetService budgetService,
+                            RecurringPaymentService recurringPaymentService,
+                            CategoryService categoryService,
+                            TransactionService transactionService,
+                            SqlStatementCounter sqlStatementCounter,
+                            @Value("${dashboard.threads:4}") int threads,
+                            @Value("${dashboard.queue-capacity:100}") int queueCapacity) {
+        this.reportService = reportService;
+        this.budgetService = budgetService;
+        this.recurringPaymentService = recurringPaymentService;
+        this.categoryService = categoryService;
+        this.transactionService = transactionService;
+        this.sqlStatementCounter = sqlStatementCounter;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "dashboard-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    public Dashboard load(UserPrincipal user, int months, int recentTransactions) {
+        int recent = Math.min(Math.max(recentTransactions, 1), MAX_RECENT_TRANSACTIONS);
+        Map<String, Long> timings = Collections.synchronizedMap(new LinkedHashMap<>());
+
+        CompletableFuture<List<MonthlyReportItem>> monthly = section("monthly", timings,
+                () -> reportService.monthly(user, months));
+        CompletableFuture<List<CategoryReportItem>> byCategory = section("category", timings,
+                () -> reportService.byCategory(user, null));
+        CompletableFuture<List<BudgetSummary>> budgets = section("budgets", timings,
+                () -> budgetService.listWithStatus(user));
+        CompletableFuture<List<RecurringPaymentResponse>> recurring = section("recurring", timings,
+                () -> recurringPaymentService.list(user));
+        CompletableFuture<List<CategoryResponse>> categories = section("categories", timings,
+                () -> categoryService.list(user));
+        CompletableFuture<List<TransactionResponse>> transactions = section("transactions", timings,
+                () -> transactionService.listAfter(user, null, null, null, null, recent).getContent());
+
+        try {
+            DashboardResponse response = DashboardResponse.builder()
+                    .monthly(monthly.join())
+                    .spendingTrend(monthly.join())
+                    .byCategory(byCategory.join())
+                    .budgets(budgets.join())
+                    .recurring(recurring.join())
+                    .categories(categories.join())
+                    .recentTransactions(transactions.join())
+                    .build();
+            return new Dashboard(response, new LinkedHashMap<>(timings));
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private <T> CompletableFuture<T> section(String name, Map<String, Long> timings, Supplier<T> load) {
+        return CompletableFuture.supplyAsync(sqlStatementCounter.propagate(() -> {
+            long started = System.nanoTime();
+            try {
+                return load.get();
+            } finally {
+                timings.put(name, System.nanoTime() - started);
+            }
+        }), executor);
+    }
+
+    /**
+     * The dashboard plus how long each section took, in nanoseconds.
+     */
+    public record Dashboard(DashboardResponse response, Map<String, Long> sectionNanos) {
+    }
+}
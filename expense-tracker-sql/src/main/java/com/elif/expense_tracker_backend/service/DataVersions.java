@@ -0,0 +1,121 @@
+package com.elif.expense_tracker_backend.service;
+
+import com.elif.expense_tracker_backend.config.DatabaseVendor;
+import com.elif.expense_tracker_backend.repository.UserDataVersionRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Per-user data version behind the conditional GETs: every write to a user's transactions,
+ * categories, budgets or recurring payments moves it forward in the same transaction.
+ *
+ * Versions live in user_data_versions, so every instance tags and checks against the same
+ * value and they survive restarts. A tag can only carry a version that committed together
+ * with the data it was computed from, so a matching tag never hides a newer write.
+ */
+@Component
+public class DataVersions {
+
+    private static final String UPSERT_POSTGRESQL = """
+            insert into user_data_versions (user_id, version) values (?, 1)
+            on conflict (user_id) do update set version = user_data_versions.version + 1
+            """;
+    private static final String UPSERT_MYSQL = """
+            insert into user_data_versions (user_id, version) values (?, 1)
+            on duplicate key update version = version + 1
+            """;
+    // H2 in tests; not safe against a concurrent first insert for the same user.
+    private static final String UPSERT_MERGE = """
+            merge into user_data_versions t
+            using (select cast(? as bigint) user_id) s
+            on t.user_id = s.user_id
+            when matched then update set version = t.version + 1
+            when not matched then insert (user_id, version) values (s.user_id, 1)
+            """;
+
+    private final UserDataVersionRepository versionRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseVendor databaseVendor;
+
+    public DataVersions(UserDataVersionRepository versionRepository,
+                        JdbcTemplate jdbcTemplate,
+                        DatabaseVendor databaseVendor) {
+        this.versionRepository = versionRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.databaseVendor = databaseVendor;
+    }
+
+    /**
+     * @return the user's version, 0 if nothing was ever written for them
+     */
+    public long current(Long userId) {
+        return versionRepository.findVersion(userId).orElse(0L);
+    }
+
+    /**
+     * Moves the user's version forward as part of the surrounding transaction, or at once when
+     * there is none. Bumps are collected and written just before the commit, in user id order,
+     * so the version row is locked only briefly and concurrent writers lock rows in the same order.
+     */
+    public void bump(Long userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            upsert(List.of(userId));
+            return;
+        }
+        pendingBumps().add(userId);
+    }
+
+    /**
+     * Invalidates every user's tags as part of the surrounding transaction, e.g. when the
+     * rollup table is rebuilt.
+     */
+    public void bumpAll() {
+        jdbcTemplate.update("update user_data_versions set version = version + 1");
+        jdbcTemplate.update("""
+                insert into user_data_versions (user_id, version)
+                select u.id, 1 from users u
+                where not exists (select 1 from user_data_versions v where v.user_id = u.id)
+                """);
+    }
+
+    private void upsert(List<Long> userIds) {
+        jdbcTemplate.batchUpdate(upsertStatement(), userIds, userIds.size(),
+                (statement, userId) -> statement.setLong(1, userId));
+    }
+
+    private String upsertStatement() {
+        return switch (databaseVendor.get()) {
+            case POSTGRESQL -> UPSERT_POSTGRESQL;
+            case MYSQL, MARIADB -> UPSERT_MYSQL;
+            default -> UPSERT_MERGE;
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<Long> pendingBumps() {
+        Set<Long> pending = (Set<Long>) TransactionSynchronizationManager.getResource(this);
+        if (pending != null) {
+            return pending;
+        }
+        Set<Long> created = new TreeSet<>();
+        TransactionSynchronizationManager.bindResource(this, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                upsert(List.copyOf(created));
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(DataVersions.this);
+            }
+        });
+        return created;
+    }
+}
@@ -0,0 +1,167 @@
+package com.elif.expense_tracker_backend.service;
+
+import com.elif.expense_tracker_backend.category.Category;
+import com.elif.expense_tracker_backend.stream.TransactionBatchEvent;
+import com.elif.expense_tracker_backend.stream.TransactionEvent;
+import com.elif.expense_tracker_backend.transaction.TransactionResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Turns writes into /api/stream events. Writers report what they changed inside their
+ * transaction; for users with a stream open here or on another instance, the budgets that spend
+ * touched are evaluated once just before commit (the rollup then already includes the write).
+ * The events are handed to {@link StreamFanout} in the same transaction and to this instance's
+ * streams after the commit. For everyone else a write costs a map lookup.
+ */
+@Component
+public class LiveUpdates {
+
+    private static final Logger log = LoggerFactory.getLogger(LiveUpdates.class);
+
+    private final StreamRegistry streamRegistry;
+    private final StreamFanout streamFanout;
+    private final BudgetService budgetService;
+    private final ObjectMapper objectMapper;
+
+    public LiveUpdates(StreamRegistry streamRegistry, StreamFanout streamFanout,
+                       BudgetService budgetService, ObjectMapper objectMapper) {
+        this.streamRegistry = streamRegistry;
+        this.streamFanout = streamFanout;
+        this.budgetService = budgetService;
+        this.objectMapper = objectMapper;
+    }
+
+    public void transactionSaved(Long userId, String action, TransactionResponse transaction) {
+        record(userId, pending -> pending.events.add(new Event("transaction", TransactionEvent.builder()
+                .action(action)
+                .id(transaction.getId())
+                .transaction(transaction)
+                .build())));
+    }
+
+    public void transactionDeleted(Long userId, Long id) {
+        record(userId, pending -> pending.events.add(new Event("transaction", TransactionEvent.builder()
+                .action("deleted")
+                .id(id)
+                .build())));
+    }
+
+    public void transactionsAdded(Long userId, int count) {
+        record(userId, pending -> pending.added += count);
+    }
+
+    /**
+     * Called by {@link MonthlyRollupService} for every expense delta it applies.
+     */
+    void expenseChanged(Long userId, Category category, YearMonth month, BigDecimal amount) {
+        record(userId, pending -> pending.spendDeltas.merge(
+                BudgetService.spendKey(category.getName().toLowerCase(), month.toString()), amount, BigDecimal::add));
+    }
+
+    private void record(Long userId, Consumer<Pending> change) {
+        if (!streamFanout.isWatched(userId)) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Budget deltas need the writing transaction; outside one, only the events go out.
+            Pending immediate = new Pending();
+            change.accept(immediate);
+            List<StreamEvent> events = serialize(userId, immediate);
+            streamFanout.publish(userId, events);
+            send(userId, events);
+            return;
+        }
+        change.accept(pendingByUser().computeIfAbsent(userId, id -> new Pending()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Long, Pending> pendingByUser() {
+        Map<Long, Pending> pending = (Map<Long, Pending>) TransactionSynchronizationManager.getResource(this);
+        if (pending != null) {
+            return pending;
+        }
+        Map<Long, Pending> created = new HashMap<>();
+        TransactionSynchronizationManager.bindResource(this, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                created.forEach((userId, pending) -> {
+                    evaluateBudgets(userId, pending);
+                    pending.serialized = serialize(userId, pending);
+                    streamFanout.publish(userId, pending.serialized);
+                });
+            }
+
+            @Override
+            public void afterCommit() {
+                created.forEach((userId, pending) -> send(userId, pending.serialized));
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(LiveUpdates.this);
+            }
+        });
+        return created;
+    }
+
+    private void evaluateBudgets(Long userId, Pending pending) {
+        if (pending.spendDeltas.isEmpty()) {
+            return;
+        }
+        try {
+            budgetService.budgetEvents(userId, pending.spendDeltas)
+                    .forEach(event -> pending.events.add(new Event("budget", event)));
+        } catch (RuntimeException e) {
+            // A missed live update must not fail the write; the next one carries the current status.
+            log.warn("Could not evaluate budgets for the stream of user {}", userId, e);
+        }
+    }
+
+    private List<StreamEvent> serialize(Long userId, Pending pending) {
+        if (pending.added > 0) {
+            pending.events.add(new Event("transactions", TransactionBatchEvent.builder().added(pending.added).build()));
+        }
+        List<StreamEvent> events = new ArrayList<>(pending.events.size());
+        for (Event event : pending.events) {
+            try {
+                // Serialized once, however many streams and instances the user has open.
+                events.add(new StreamEvent(event.name(), objectMapper.writeValueAsString(event.data())));
+            } catch (JsonProcessingException e) {
+                log.warn("Could not serialize {} event for user {}", event.name(), userId, e);
+            }
+        }
+        return events;
+    }
+
+    private void send(Long userId, List<StreamEvent> events) {
+        if (streamRegistry.isWatched(userId)) {
+            // One hand-off per commit, so its events reach each stream together and in order.
+            streamRegistry.send(userId, StreamEvent.toSse(events));
+        }
+    }
+
+    private record Event(String name, Object data) {
+    }
+
+    private static final class Pending {
+        private final List<Event> events = new ArrayList<>();
+        private final Map<String, BigDecimal> spendDeltas = new HashMap<>();
+        private int added;
+        private List<StreamEvent> serialized = List.of();
+    }
+}
@@ -0,0 +1,52 @@
+package com.elif.expense_tracker_backend.service;
+
+import com.elif.expense_tracker_backend.report.RollupDriftReport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Backfills the monthly rollup on first start and verifies it nightly,
+ * rebuilding it from transactions when drift is found.
+ *
+ * Every instance runs both. The rebuild takes a lock and checks for drift again under it,
+ * so when several instances find the same drift the first one repairs it and the others
+ * find nothing left to do.
+ */
+@Component
+public class MonthlyRollupJob {
+
+    private static final Logger log = LoggerFactory.getLogger(MonthlyRollupJob.class);
+
+    private final MonthlyRollupService monthlyRollupService;
+
+    public MonthlyRollupJob(MonthlyRollupService monthlyRollupService) {
+        this.monthlyRollupService = monthlyRollupService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        if (monthlyRollupService.needsBackfill()) {
+            log.info("Monthly rollup is empty, rebuilding from transactions");
+            monthlyRollupService.rebuildIfDrifted();
+        }
+    }
+
+    // Runs after RecurringPaymentService.processDuePayments (03:00).
+    @Scheduled(cron = "0 30 3 * * *")
+    public void verifyNightly() {
+        RollupDriftReport report = monthlyRollupService.verify();
+        if (report.isClean()) {
+            return;
+        }
+        log.warn("Monthly rollup drift detected (mismatched={}, missing={}, extra={}), rebuilding",
+                report.getMismatchedRows(), report.getMissingRows(), report.getExtraRows());
+        RollupDriftReport rebuilt = monthlyRollupService.rebuildIfDrifted();
+        if (!rebuilt.isRebuilt()) {
+            log.info("Monthly rollup was already consistent under the rebuild lock, left as is");
+        }
+    }
+}
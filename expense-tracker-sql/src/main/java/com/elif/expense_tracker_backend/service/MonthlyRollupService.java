@@ -0,0 +1,280 @@
+package com.elif.expense_tracker_backend.service;
+
+import com.elif.expense_tracker_backend.category.Category;
+import com.elif.expense_tracker_backend.config.DatabaseVendor;
+import com.elif.expense_tracker_backend.report.MonthlyCategoryTotal;
+import com.elif.expense_tracker_backend.report.MonthlyCategoryTotalRow;
+import com.elif.expense_tracker_backend.report.RollupDriftReport;
+import com.elif.expense_tracker_backend.repository.MonthlyCategoryTotalRepository;
+import com.elif.expense_tracker_backend.repository.TransactionRepository;
+import com.elif.expense_tracker_backend.transaction.Transaction;
+import com.elif.expense_tracker_backend.transaction.TransactionType;
+import com.elif.expense_tracker_backend.user.User;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the monthly_category_totals rollup in step with the transactions table.
+ *
+ * Writers call {@link #record} / {@link #reverse} inside their own transaction, so the
+ * rollup commits or rolls back together with the transaction row. {@link #verify} and
+ * {@link #rebuild} recompute everything from scratch to detect and repair drift; see
+ * {@link MonthlyRollupJob} for when they run.
+ */
+@Service
+public class MonthlyRollupService {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final Comparator<Delta> KEY_ORDER = Comparator
+            .comparing((Delta delta) -> delta.user().getId())
+            .thenComparing(delta -> delta.category().getId())
+            .thenComparing(Delta::month)
+            .thenComparing(Delta::type);
+
+    // Rows are only ever written by these upserts, never through the entity, so on MySQL the id
+    // can come from AUTO_INCREMENT without colliding with pooled ids.
+    private static final String UPSERT_POSTGRESQL = """
+            insert into monthly_category_totals (user_id, category_id, month_key, type, total)
+            values (?, ?, ?, ?, ?)
+            on conflict (user_id, category_id, month_key, type)
+            do update set total = monthly_category_totals.total + excluded.total
+            """;
+    private static final String UPSERT_MYSQL = """
+            insert into monthly_category_totals (user_id, category_id, month_key, type, total)
+            values (?, ?, ?, ?, ?)
+            on duplicate key update total = total + values(total)
+            """;
+    // H2 in tests; not safe against concurrent inserts of the same key elsewhere.
+    private static final String UPSERT_MERGE = """
+            merge into monthly_category_totals t
+            using (select cast(? as bigint) user_id, cast(? as bigint) category_id,
+                          cast(? as varchar(7)) month_key, cast(? as varchar(255)) type,
+                          cast(? as decimal(38,2)) total) s
+            on t.user_id = s.user_id and t.category_id = s.category_id
+               and t.month_key = s.month_key and t.type = s.type
+            when matched then update set total = t.total + s.total
+            when not matched then insert (id, user_id, category_id, month_key, type, total)
+                values (next value for monthly_category_totals_seq,
+                        s.user_id, s.category_id, s.month_key, s.type, s.total)
+            """;
+
+    private final MonthlyCategoryTotalRepository rollupRepository;
+    private final TransactionRepository transactionRepository;
+    private final ReportCache reportCache;
+    private final DataVersions dataVersions;
+    private final LiveUpdates liveUpdates;
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseVendor databaseVendor;
+
+    public MonthlyRollupService(MonthlyCategoryTotalRepository rollupRepository,
+                                TransactionRepository transactionRepository,
+                                ReportCache reportCache,
+                                DataVersions dataVersions,
+                                LiveUpdates liveUpdates,
+                                JdbcTemplate jdbcTemplate,
+                                DatabaseVendor databaseVendor) {
+        this.rollupRepository = rollupRepository;
+        this.transactionRepository = transactionRepository;
+        this.reportCache = reportCache;
+        this.dataVersions = dataVersions;
+        this.liveUpdates = liveUpdates;
+        this.jdbcTemplate = jdbcTemplate;
+        this.databaseVendor = databaseVendor;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Transaction tx) {
+        add(tx.getUser(), tx.getCategory(), YearMonth.from(tx.getTransactionDate()), tx.getType(), tx.getAmount());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reverse(Transaction tx) {
+        add(tx.getUser(), tx.getCategory(), YearMonth.from(tx.getTransactionDate()), tx.getType(), tx.getAmount().negate());
+    }
+
+    /**
+     * Adds a pre-aggregated amount, for bulk writers that insert many rows per key.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void add(User user, Category category, YearMonth month, TransactionType type, BigDecimal amount) {
+        addAll(List.of(new Delta(user, category, month, type, amount)));
+    }
+
+    /**
+     * {@link #add} for many keys at once, as one JDBC batch of upserts: each key's row is
+     * created or incremented atomically, so concurrent writers to the same key cannot both
+     * insert it. Pending entity changes are flushed first so users and categories created
+     * earlier in the same transaction exist for the foreign keys. Rows are written in key
+     * order, so concurrent batches touching overlapping keys lock them in the same order
+     * instead of deadlocking.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void addAll(Collection<Delta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        rollupRepository.flush();
+        List<Delta> pending = deltas.stream().sorted(KEY_ORDER).toList();
+        upsert(pending);
+        for (Delta delta : pending) {
+            if (delta.type() == TransactionType.EXPENSE) {
+                liveUpdates.expenseChanged(delta.user().getId(), delta.category(), delta.month(), delta.amount());
+            }
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void deleteForCategory(Long categoryId) {
+        rollupRepository.deleteByCategoryId(categoryId);
+    }
+
+    @Transactional(readOnly = true)
+    public boolean needsBackfill() {
+        return rollupRepository.count() == 0 && transactionRepository.count() > 0;
+    }
+
+    /**
+     * Compares the rollup with the transactions as of one snapshot, so a write committing
+     * while it runs does not show up as drift.
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public RollupDriftReport verify() {
+        return compare(expectedTotals(), rollupRepository.findAll(), false);
+    }
+
+    /**
+     * Recomputes the whole rollup from transactions and replaces it.
+     */
+    @Transactional
+    public RollupDriftReport rebuild() {
+        return replace(false);
+    }
+
+    /**
+     * Checks the rollup again under the rebuild lock and only replaces it if it has drifted,
+     * so instances that find the same drift rebuild it once between them.
+     */
+    @Transactional
+    public RollupDriftReport rebuildIfDrifted() {
+        return replace(true);
+    }
+
+    /**
+     * Writers only touch the rollup through the upserts above, so once the lock is held no
+     * write can slip in between computing the totals and replacing the rows: writers that
+     * already touched the rollup have committed and are included, later ones wait and apply
+     * their delta on top. Reports keep reading while it runs; writes wait for it.
+     */
+    private RollupDriftReport replace(boolean onlyIfDrifted) {
+        lockForRebuild();
+        Map<RollupKey, MonthlyCategoryTotalRow> expected = expectedTotals();
+        List<MonthlyCategoryTotal> actual = rollupRepository.findAll();
+        RollupDriftReport drift = compare(expected, actual, false);
+        if (onlyIfDrifted && drift.isClean()) {
+            return drift;
+        }
+
+        rollupRepository.deleteAllInBatch();
+        jdbcTemplate.batchUpdate(upsertStatement(), expected.values(), BATCH_SIZE, (ps, row) -> {
+            ps.setLong(1, row.getUserId());
+            ps.setLong(2, row.getCategoryId());
+            ps.setString(3, row.getMonthKey());
+            ps.setString(4, row.getType().name());
+            ps.setBigDecimal(5, row.getTotal());
+        });
+        reportCache.invalidateAll();
+        dataVersions.bumpAll();
+        return compare(expected, actual, true);
+    }
+
+    private void lockForRebuild() {
+        switch (databaseVendor.get()) {
+            // Conflicts with the row locks every writer takes, and with itself, but not with reads.
+            case POSTGRESQL -> jdbcTemplate.execute("lock table monthly_category_totals in exclusive mode");
+            // A locking scan takes next-key locks on every row and gap, which also blocks inserts.
+            default -> jdbcTemplate.queryForList("select id from monthly_category_totals for update", Long.class);
+        }
+    }
+
+    private void upsert(List<Delta> deltas) {
+        jdbcTemplate.batchUpdate(upsertStatement(), deltas, BATCH_SIZE, (ps, delta) -> {
+            ps.setLong(1, delta.user().getId());
+            ps.setLong(2, delta.category().getId());
+            ps.setString(3, delta.month().toString());
+            ps.setString(4, delta.type().name());
+            ps.setBigDecimal(5, delta.amount());
+        });
+    }
+
+    private String upsertStatement() {
+        return switch (databaseVendor.get()) {
+            case POSTGRESQL -> UPSERT_POSTGRESQL;
+            case MYSQL, MARIADB -> UPSERT_MYSQL;
+            default -> UPSERT_MERGE;
+        };
+    }
+
+    private Map<RollupKey, MonthlyCategoryTotalRow> expectedTotals() {
+        Map<RollupKey, MonthlyCategoryTotalRow> expected = new HashMap<>();
+        for (MonthlyCategoryTotalRow row : transactionRepository.sumForRollup()) {
+            expected.put(new RollupKey(row.getUserId(), row.getCategoryId(), row.getMonthKey(), row.getType()), row);
+        }
+        return expected;
+    }
+
+    private RollupDriftReport compare(Map<RollupKey, MonthlyCategoryTotalRow> expected,
+                                      List<MonthlyCategoryTotal> actual,
+                                      boolean rebuilt) {
+        int mismatched = 0;
+        int extra = 0;
+        int matchedKeys = 0;
+        for (MonthlyCategoryTotal total : actual) {
+            MonthlyCategoryTotalRow row = expected.get(new RollupKey(
+                    total.getUser().getId(), total.getCategory().getId(), total.getMonth(), total.getType()));
+            if (row == null) {
+                // Rows that were netted back to zero by deletes are harmless.
+                if (total.getTotal().signum() != 0) {
+                    extra++;
+                }
+                continue;
+            }
+            matchedKeys++;
+            if (row.getTotal().compareTo(total.getTotal()) != 0) {
+                mismatched++;
+            }
+        }
+        return RollupDriftReport.builder()
+                .expectedRows(expected.size())
+                .actualRows(actual.size())
+                .mismatchedRows(mismatched)
+                .missingRows(expected.size() - matchedKeys)
+                .extraRows(extra)
+                .rebuilt(rebuilt)
+                .build();
+    }
+
+    /**
+     * An amount to add to one rollup key; user and category may be unloaded references.
+     */
+    public record Delta(User user, Category category, YearMonth month, TransactionType type, BigDecimal amount) {
+
+        public Delta plus(Delta other) {
+            return new Delta(user, category, month, type, amount.add(other.amount));
+        }
+    }
+
+    private record RollupKey(Long userId, Long categoryId, String month, TransactionType type) {
+    }
+}
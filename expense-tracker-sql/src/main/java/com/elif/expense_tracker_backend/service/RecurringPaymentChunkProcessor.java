@@ -0,0 +1,134 @@
+package com.elif.expense_tracker_backend.service;
+
+import com.elif.expense_tracker_backend.recurring.RecurringPayment;
+import com.elif.expense_tracker_backend.recurring.RecurringRunResult;
+import com.elif.expense_tracker_backend.repository.RecurringPaymentRepository;
+import com.elif.expense_tracker_backend.repository.TransactionRepository;
+import com.elif.expense_tracker_backend.transaction.Transaction;
+import com.elif.expense_tracker_backend.transaction.TransactionType;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Charges one chunk of due recurring payments in its own transaction.
+ *
+ * A payment's next_run is the checkpoint: it is advanced in the same transaction that
+ * inserts the generated transactions, so a crash either commits both or neither, and a
+ * re-run simply picks up whatever is still due.
+ */
+@Component
+public class RecurringPaymentChunkProcessor {
+
+    private final RecurringPaymentRepository recurringPaymentRepository;
+    private final TransactionRepository transactionRepository;
+    private final MonthlyRollupService monthlyRollupService;
+    private final DataVersions dataVersions;
+    private final LiveUpdates liveUpdates;
+    private final EntityManager entityManager;
+    private final int writeBatchSize;
+
+    public RecurringPaymentChunkProcessor(RecurringPaymentRepository recurringPaymentRepository,
+                                          TransactionRepository transactionRepository,
+                                          MonthlyRollupService monthlyRollupService,
+                                          DataVersions dataVersions,
+                                          LiveUpdates liveUpdates,
+                                          EntityManager entityManager,
+                                          @Value("${recurring.processor.write-batch-size:1000}") int writeBatchSize) {
+        this.recurringPaymentRepository = recurringPaymentRepository;
+        this.transactionRepository = transactionRepository;
+        this.monthlyRollupService = monthlyRollupService;
+        this.dataVersions = dataVersions;
+        this.liveUpdates = liveUpdates;
+        this.entityManager = entityManager;
+        this.writeBatchSize = writeBatchSize;
+    }
+
+    /**
+     * Generated transactions and next_run changes are written as JDBC batches of up to
+     * recurring.processor.write-batch-size rows, and rollup deltas go through
+     * {@link MonthlyRollupService#addAll}.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public RecurringRunResult process(Collection<Long> paymentIds, LocalDate today) {
+        List<RecurringPayment> payments = recurringPaymentRepository.lockDueByIds(paymentIds, today);
+        if (payments.isEmpty()) {
+            return RecurringRunResult.EMPTY;
+        }
+
+        List<Due> due = new ArrayList<>(payments.size());
+        Map<RollupKey, MonthlyRollupService.Delta> rollup = new HashMap<>();
+        Map<Long, Integer> generatedByUser = new HashMap<>();
+        int generated = 0;
+
+        // First pass: which periods each payment catches up on, and what they add to the rollup.
+        for (RecurringPayment payment : payments) {
+            LocalDate runDate = payment.getNextRun();
+            due.add(new Due(payment, runDate));
+            while (!runDate.isAfter(today)) {
+                RollupKey key = new RollupKey(
+                        payment.getUser().getId(), payment.getCategory().getId(), YearMonth.from(runDate), payment.getType());
+                rollup.merge(key, new MonthlyRollupService.Delta(
+                                payment.getUser(), payment.getCategory(), key.month(), key.type(), payment.getAmount()),
+                        MonthlyRollupService.Delta::plus);
+                generatedByUser.merge(payment.getUser().getId(), 1, Integer::sum);
+                generated++;
+                runDate = payment.getFrequency().next(runDate);
+            }
+            payment.setNextRun(runDate);
+        }
+
+        // Usually one JDBC batch per table for the whole chunk. A payment catching up on many
+        // missed periods can generate far more rows than that, so they are written and dropped
+        // from the persistence context every writeBatchSize rows.
+        entityManager.unwrap(Session.class)
+                .setJdbcBatchSize(Math.min(Math.max(generated, payments.size()), writeBatchSize));
+
+        // Flushes the next_run changes; runs before the context is cleared below, while the
+        // payments' categories are still attached for the live updates.
+        monthlyRollupService.addAll(rollup.values());
+
+        Instant createdAt = Instant.now();
+        int written = 0;
+        for (Due next : due) {
+            RecurringPayment payment = next.payment();
+            for (LocalDate runDate = next.from(); !runDate.isAfter(today); runDate = payment.getFrequency().next(runDate)) {
+                transactionRepository.save(Transaction.builder()
+                        .user(payment.getUser())
+                        .category(payment.getCategory())
+                        .type(payment.getType())
+                        .amount(payment.getAmount())
+                        .note(payment.getNote())
+                        .transactionDate(runDate)
+                        .createdAt(createdAt)
+                        .build());
+                if (++written % writeBatchSize == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+        }
+        payments.forEach(payment -> dataVersions.bump(payment.getUser().getId()));
+        generatedByUser.forEach(liveUpdates::transactionsAdded);
+
+        return new RecurringRunResult(payments.size(), generated, 0);
+    }
+
+    private record Due(RecurringPayment payment, LocalDate from) {
+    }
+
+    private record RollupKey(Long userId, Long categoryId, YearMonth month, TransactionType type) {
+    }
+}
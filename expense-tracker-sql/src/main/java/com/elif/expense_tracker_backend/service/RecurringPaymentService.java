@@ -1,14 +1,21 @@
 package com.elif.expense_tracker_backend.service;
 
-import com.elif.expense_tracker_backend.recurring.RecurrenceFrequency;
+import com.elif.expense_tracker_backend.category.CategoryResponse;
 import com.elif.expense_tracker_backend.recurring.RecurringPayment;
 import com.elif.expense_tracker_backend.recurring.RecurringPaymentRequest;
-import com.elif.expense_tracker_backend.repository.RecurringPaymentRepository;
-import com.elif.expense_tracker_backend.repository.TransactionRepository;
+import com.elif.expense_tracker_backend.recurring.RecurringPaymentResponse;
+import com.elif.expense_tracker_backend.recurring.RecurringRunResult;
 import com.elif.expense_tracker_backend.repository.CategoryRepository;
-import com.elif.expense_tracker_backend.transaction.Transaction;
-import com.elif.expense_tracker_backend.transaction.TransactionType;
-import com.elif.expense_tracker_backend.user.User;
+import com.elif.expense_tracker_backend.repository.RecurringPaymentRepository;
+import com.elif.expense_tracker_backend.repository.UserRepository;
+import com.elif.expense_tracker_backend.security.UserPrincipal;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
@@ -16,26 +23,66 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 @Service
 public class RecurringPaymentService {
 
+    private static final Logger log = LoggerFactory.getLogger(RecurringPaymentService.class);
+
     private final RecurringPaymentRepository recurringPaymentRepository;
-    private final TransactionRepository transactionRepository;
     private final CategoryRepository categoryRepository;
+    private final RecurringPaymentChunkProcessor chunkProcessor;
+    private final UserRepository userRepository;
+    private final DataVersions dataVersions;
+    private final Timer runTimer;
+    private final DistributionSummary paymentsPerRun;
+    private final DistributionSummary transactionsPerRun;
+    private final DistributionSummary failedChunksPerRun;
 
-    public RecurringPaymentService(RecurringPaymentRepository recurringPaymentRepository, TransactionRepository transactionRepository, CategoryRepository categoryRepository) {
+    @Value("${recurring.processor.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${recurring.processor.workers:1}")
+    private int workers;
+
+    public RecurringPaymentService(RecurringPaymentRepository recurringPaymentRepository,
+                                   CategoryRepository categoryRepository,
+                                   RecurringPaymentChunkProcessor chunkProcessor,
+                                   UserRepository userRepository,
+                                   DataVersions dataVersions,
+                                   MeterRegistry meterRegistry) {
         this.recurringPaymentRepository = recurringPaymentRepository;
-        this.transactionRepository = transactionRepository;
         this.categoryRepository = categoryRepository;
+        this.chunkProcessor = chunkProcessor;
+        this.userRepository = userRepository;
+        this.dataVersions = dataVersions;
+        this.runTimer = Timer.builder("recurring.payments.run")
+                .description("Duration of a recurring payment run")
+                .register(meterRegistry);
+        this.paymentsPerRun = DistributionSummary.builder("recurring.payments.run.payments")
+                .description("Due payments advanced per run")
+                .register(meterRegistry);
+        this.transactionsPerRun = DistributionSummary.builder("recurring.payments.run.transactions")
+                .description("Transactions inserted per run")
+                .register(meterRegistry);
+        this.failedChunksPerRun = DistributionSummary.builder("recurring.payments.run.failed.chunks")
+                .register(meterRegistry);
     }
 
-    public List<RecurringPayment> list(User user) {
-        return recurringPaymentRepository.findByUserId(user.getId());
+    @Transactional(readOnly = true)
+    public List<RecurringPaymentResponse> list(UserPrincipal user) {
+        return recurringPaymentRepository.findByUserId(user.getId()).stream()
+                .map(this::toResponse)
+                .toList();
     }
 
-    public RecurringPayment create(User user, RecurringPaymentRequest request) {
+    public RecurringPaymentResponse create(UserPrincipal user, RecurringPaymentRequest request) {
         var category = categoryRepository.findById(request.getCategoryId())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Category not found"));
         if (!category.getUser().getId().equals(user.getId())) {
@@ -43,7 +90,7 @@ public class RecurringPaymentService {
         }
 
         RecurringPayment payment = RecurringPayment.builder()
-                .user(user)
+                .user(userRepository.getReferenceById(user.getId()))
                 .type(request.getType())
                 .category(category)
                 .amount(request.getAmount())
@@ -52,45 +99,97 @@ public class RecurringPaymentService {
                 .nextRun(request.getNextRun())
                 .active(Boolean.TRUE.equals(request.getActive()))
                 .build();
-        return recurringPaymentRepository.save(payment);
+        RecurringPayment saved = recurringPaymentRepository.save(payment);
+        dataVersions.bump(user.getId());
+        return toResponse(saved);
     }
 
-    public void delete(User user, Long id) {
+    public void delete(UserPrincipal user, Long id) {
         RecurringPayment payment = recurringPaymentRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Recurring payment not found"));
         if (!payment.getUser().getId().equals(user.getId())) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Not your recurring payment");
         }
         recurringPaymentRepository.delete(payment);
+        dataVersions.bump(user.getId());
     }
 
+    /**
+     * Pages through due payments by id and hands each chunk to
+     * {@link RecurringPaymentChunkProcessor}, which commits it on its own.
+     * With {@code recurring.processor.workers > 1} chunks run on a bounded pool.
+     */
     @Scheduled(cron = "0 0 3 * * *")
-    @Transactional
-    public void processDuePayments() {
+    public RecurringRunResult processDuePayments() {
+        Timer.Sample sample = Timer.start();
         LocalDate today = LocalDate.now();
-        List<RecurringPayment> duePayments = recurringPaymentRepository.findByActiveTrueAndNextRunLessThanEqual(today);
-
-        for (RecurringPayment payment : duePayments) {
-            Transaction transaction = Transaction.builder()
-                    .user(payment.getUser())
-                    .type(payment.getType())
-                    .category(payment.getCategory())
-                    .amount(payment.getAmount())
-                    .note(payment.getNote())
-                    .transactionDate(payment.getNextRun())
-                    .build();
-            transactionRepository.save(transaction);
-
-            payment.setNextRun(calculateNextRun(payment.getNextRun(), payment.getFrequency()));
-            recurringPaymentRepository.save(payment);
+        ExecutorService pool = workers > 1 ? Executors.newFixedThreadPool(workers) : null;
+        List<Future<RecurringRunResult>> pending = new ArrayList<>();
+        RecurringRunResult result = RecurringRunResult.EMPTY;
+        try {
+            Long afterId = 0L;
+            List<Long> ids;
+            while (!(ids = recurringPaymentRepository.findDueIdsAfter(today, afterId, PageRequest.of(0, chunkSize))).isEmpty()) {
+                afterId = ids.get(ids.size() - 1);
+                List<Long> chunk = ids;
+                if (pool == null) {
+                    result = result.plus(processChunk(chunk, today));
+                } else {
+                    pending.add(pool.submit(() -> processChunk(chunk, today)));
+                }
+            }
+            for (Future<RecurringRunResult> future : pending) {
+                result = result.plus(future.get());
+            }
+        } catch (InterruptedException e) {
+            // Chunks that already committed stay committed; the rest are still due next run.
+            log.warn("Recurring payment run interrupted after payments={}, transactions={}; remaining chunks cancelled",
+                    result.getPayments(), result.getTransactions());
+            pending.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            if (pool != null) {
+                pool.shutdown();
+            }
+            sample.stop(runTimer);
         }
+
+        paymentsPerRun.record(result.getPayments());
+        transactionsPerRun.record(result.getTransactions());
+        failedChunksPerRun.record(result.getFailedChunks());
+
+        log.info("Recurring payments processed: payments={}, transactions={}, failedChunks={}",
+                result.getPayments(), result.getTransactions(), result.getFailedChunks());
+        return result;
     }
 
-    private LocalDate calculateNextRun(LocalDate current, RecurrenceFrequency frequency) {
-        return switch (frequency) {
-            case DAILY -> current.plusDays(1);
-            case WEEKLY -> current.plusWeeks(1);
-            case MONTHLY -> current.plusMonths(1);
-        };
+    private RecurringRunResult processChunk(List<Long> ids, LocalDate today) {
+        try {
+            return chunkProcessor.process(ids, today);
+        } catch (RuntimeException e) {
+            // The chunk rolled back; its payments stay due and are retried on the next run.
+            log.error("Recurring payment chunk {}..{} failed", ids.get(0), ids.get(ids.size() - 1), e);
+            return new RecurringRunResult(0, 0, 1);
+        }
+    }
+
+    private RecurringPaymentResponse toResponse(RecurringPayment payment) {
+        return RecurringPaymentResponse.builder()
+                .id(payment.getId())
+                .type(payment.getType())
+                .category(CategoryResponse.builder()
+                        .id(payment.getCategory().getId())
+                        .name(payment.getCategory().getName())
+                        .type(payment.getCategory().getType())
+                        .build())
+                .amount(payment.getAmount())
+                .note(payment.getNote())
+                .frequency(payment.getFrequency())
+                .nextRun(payment.getNextRun())
+                .active(payment.isActive())
+                .createdAt(payment.getCreatedAt())
+                .build();
     }
 }
@@ -0,0 +1,87 @@
+package com.elif.expense_tracker_backend.service;
+
+import com.elif.expense_tracker_backend.report.ReportCacheStats;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, per-user cache of report results, keyed by the user's {@link DataVersions data version}.
+ *
+ * Every write moves the version in the database, so after a write on any instance every
+ * instance misses on its next lookup, and the superseded entries age out of the cache. The
+ * version is read before the report is computed, so an entry may hold totals newer than its
+ * version but never older ones; a report served under an ETag is never staler than the tag.
+ */
+@Component
+public class ReportCache implements MeterBinder {
+
+    public static final String REPORT_MONTHLY = "monthly";
+    public static final String REPORT_CATEGORY = "category";
+
+    private final DataVersions dataVersions;
+    private final Cache<Key, Object> cache;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public ReportCache(DataVersions dataVersions,
+                       @Value("${reports.cache.max-size:10000}") long maxSize,
+                       @Value("${reports.cache.ttl:10m}") Duration ttl) {
+        this.dataVersions = dataVersions;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(Long userId, String report, String param, Supplier<T> loader) {
+        long version = dataVersions.current(userId);
+        return (T) cache.get(new Key(userId, version, report, param), key -> loader.get());
+    }
+
+    /**
+     * Frees everything cached on this instance, e.g. after a rollup rebuild. Not needed for
+     * correctness: the rebuild also moves every user's version.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+        invalidations.incrementAndGet();
+    }
+
+    public ReportCacheStats stats() {
+        CacheStats stats = cache.stats();
+        return ReportCacheStats.builder()
+                .size(cache.estimatedSize())
+                .hits(stats.hitCount())
+                .misses(stats.missCount())
+                .evictions(stats.evictionCount())
+                .invalidations(invalidations.get())
+                .build();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "reports");
+        FunctionCounter.builder("reports.cache.invalidations", invalidations, AtomicLong::get)
+                .description("Times the whole report cache was dropped, e.g. after a rollup rebuild")
+                .register(registry);
+    }
+
+    /**
+     * {@code param} is the months-back window for monthly reports, or the "YYYY-MM"
+     * month (null for all time) for category reports.
+     */
+    private record Key(Long userId, long version, String report, String param) {
+    }
+}
@@ -0,0 +1,19 @@
+package com.elif.expense_tracker_backend.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * One /api/stream event with its data already serialized, as it travels between instances.
+ */
+record StreamEvent(String name, String data) {
+
+    static List<Set<DataWithMediaType>> toSse(List<StreamEvent> events) {
+        return events.stream()
+                .map(event -> SseEmitter.event().name(event.name()).data(event.data()).build())
+                .toList();
+    }
+}
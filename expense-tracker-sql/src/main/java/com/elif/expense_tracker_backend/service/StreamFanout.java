@@ -0,0 +1,266 @@
+package com.elif.expense_tracker_backend.service;
+
+import com.elif.expense_tracker_backend.config.DatabaseVendor;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Carries /api/stream events between instances over PostgreSQL LISTEN/NOTIFY, so a write
+ * handled by one instance reaches the streams the others hold.
+ *
+ * Each instance announces the users it holds streams for on {@value #WATCHERS}: at once when a
+ * user's first stream opens here, and again on every heartbeat pass; an announcement not
+ * repeated for three passes is forgotten. Writes for users nobody else announced still cost a
+ * map lookup. For the rest the events go out on {@value #EVENTS} from the writing transaction,
+ * so they are delivered when it commits and never when it rolls back.
+ *
+ * The listener holds one connection of its own, outside the pool. Events sent while it is
+ * reconnecting are lost, as are events committed before a new stream's announcement arrived;
+ * clients load the current state when they (re)connect. Off on other databases, where
+ * instances behind a load balancer need sticky routing by user instead.
+ */
+@Component
+public class StreamFanout implements SmartLifecycle {
+
+    static final String WATCHERS = "stream_watchers";
+    static final String EVENTS = "stream_events";
+    // NOTIFY payloads must be shorter than 8000 bytes.
+    static final int MAX_PAYLOAD_BYTES = 7999;
+
+    private static final Logger log = LoggerFactory.getLogger(StreamFanout.class);
+    private static final Duration RECONNECT_DELAY = Duration.ofSeconds(5);
+
+    private final String instanceId = UUID.randomUUID().toString();
+    private final Map<Long, Long> remoteWatchers = new ConcurrentHashMap<>();
+    private final StreamRegistry streamRegistry;
+    private final DatabaseVendor databaseVendor;
+    private final JdbcConnectionDetails connectionDetails;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final long expiryNanos;
+    private volatile boolean running;
+
+    public StreamFanout(StreamRegistry streamRegistry,
+                        DatabaseVendor databaseVendor,
+                        JdbcConnectionDetails connectionDetails,
+                        JdbcTemplate jdbcTemplate,
+                        ObjectMapper objectMapper,
+                        @Value("${stream.fanout.enabled:true}") boolean enabled,
+                        @Value("${stream.heartbeat-interval-ms:25000}") long heartbeatMillis) {
+        this.streamRegistry = streamRegistry;
+        this.databaseVendor = databaseVendor;
+        this.connectionDetails = connectionDetails;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.expiryNanos = Duration.ofMillis(heartbeatMillis).multipliedBy(3).toNanos();
+        streamRegistry.onFirstStream(this::announce);
+    }
+
+    /**
+     * @return whether the user has a stream open on this or, as far as is known, another instance
+     */
+    public boolean isWatched(Long userId) {
+        return streamRegistry.isWatched(userId) || isWatchedElsewhere(userId);
+    }
+
+    /**
+     * Sends the events to the other instances holding streams for the user. Inside a
+     * transaction they go out when it commits.
+     */
+    void publish(Long userId, List<StreamEvent> events) {
+        if (!running || events.isEmpty() || !isWatchedElsewhere(userId)) {
+            return;
+        }
+        for (String payload : payloads(userId, events)) {
+            notify(EVENTS, payload);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${stream.heartbeat-interval-ms:25000}")
+    public void announceAll() {
+        if (!running) {
+            return;
+        }
+        StringBuilder payload = new StringBuilder(instanceId);
+        for (Long userId : streamRegistry.watchedUsers()) {
+            String next = " " + userId;
+            if (payload.length() + next.length() > MAX_PAYLOAD_BYTES) {
+                notify(WATCHERS, payload.toString());
+                payload = new StringBuilder(instanceId);
+            }
+            payload.append(next);
+        }
+        if (payload.length() > instanceId.length()) {
+            notify(WATCHERS, payload.toString());
+        }
+        long now = System.nanoTime();
+        remoteWatchers.values().removeIf(seen -> now - seen >= expiryNanos);
+    }
+
+    @Override
+    public void start() {
+        if (!enabled || databaseVendor.get() != DatabaseDriver.POSTGRESQL) {
+            return;
+        }
+        running = true;
+        Thread listener = new Thread(this::listen, "stream-fanout");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Splits the events into as few payloads as fit a notification, in order. An event too large
+     * for one on its own is only sent to streams on this instance.
+     */
+    List<String> payloads(Long userId, List<StreamEvent> events) {
+        List<String> payloads = new ArrayList<>();
+        List<StreamEvent> batch = new ArrayList<>();
+        String encoded = null;
+        for (StreamEvent event : events) {
+            batch.add(event);
+            String candidate = encode(userId, batch);
+            if (fits(candidate)) {
+                encoded = candidate;
+                continue;
+            }
+            if (encoded != null) {
+                payloads.add(encoded);
+            }
+            batch = new ArrayList<>(List.of(event));
+            encoded = encode(userId, batch);
+            if (!fits(encoded)) {
+                log.warn("Not fanning out a {} event for user {}: too large for a notification", event.name(), userId);
+                batch.clear();
+                encoded = null;
+            }
+        }
+        if (encoded != null) {
+            payloads.add(encoded);
+        }
+        return payloads;
+    }
+
+    void receive(String channel, String payload) {
+        try {
+            if (WATCHERS.equals(channel)) {
+                String[] parts = payload.split(" ");
+                if (!instanceId.equals(parts[0])) {
+                    long now = System.nanoTime();
+                    for (int i = 1; i < parts.length; i++) {
+                        remoteWatchers.put(Long.valueOf(parts[i]), now);
+                    }
+                }
+            } else if (EVENTS.equals(channel)) {
+                Message message = objectMapper.readValue(payload, Message.class);
+                if (!instanceId.equals(message.origin()) && streamRegistry.isWatched(message.userId())) {
+                    streamRegistry.send(message.userId(), StreamEvent.toSse(message.events()));
+                }
+            }
+        } catch (JsonProcessingException | NumberFormatException e) {
+            log.warn("Ignoring malformed {} notification", channel, e);
+        }
+    }
+
+    private boolean isWatchedElsewhere(Long userId) {
+        Long seen = remoteWatchers.get(userId);
+        return seen != null && System.nanoTime() - seen < expiryNanos;
+    }
+
+    private void announce(Long userId) {
+        if (running) {
+            notify(WATCHERS, instanceId + " " + userId);
+        }
+    }
+
+    private void notify(String channel, String payload) {
+        try {
+            jdbcTemplate.query("select pg_notify(?, ?)", rs -> null, channel, payload);
+        } catch (DataAccessException e) {
+            // A missed live update must not fail the write or the stream; clients catch up on reconnect.
+            log.warn("Could not notify {}", channel, e);
+        }
+    }
+
+    private String encode(Long userId, List<StreamEvent> events) {
+        try {
+            return objectMapper.writeValueAsString(new Message(instanceId, userId, events));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static boolean fits(String payload) {
+        return payload.getBytes(StandardCharsets.UTF_8).length <= MAX_PAYLOAD_BYTES;
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(connectionDetails.getJdbcUrl(),
+                    connectionDetails.getUsername(), connectionDetails.getPassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("listen " + WATCHERS);
+                    statement.execute("listen " + EVENTS);
+                }
+                PGConnection notifications = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] received = notifications.getNotifications(1000);
+                    if (received != null) {
+                        for (PGNotification notification : received) {
+                            receive(notification.getName(), notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Stream fan-out listener lost its connection; reconnecting in {}", RECONNECT_DELAY, e);
+                try {
+                    Thread.sleep(RECONNECT_DELAY.toMillis());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private record Message(String origin, Long userId, List<StreamEvent> events) {
+    }
+}
@@ -0,0 +1,259 @@
+package com.elif.expense_tracker_backend.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Open /api/stream connections per user. An idle stream is a suspended async request plus an
+ * entry here, so thousands of them hold no threads. Events and heartbeats are written by a small
+ * dispatch pool, never by the request or scheduler thread that produced them; a stream whose
+ * write fails is dropped and the browser reconnects.
+ *
+ * Each stream has its own queue, drained by at most one dispatch task at a time, so a stream
+ * sees events in the order they were sent however many dispatch threads there are. A stream
+ * that falls too far behind, or that cannot be scheduled because the dispatch queue is full, is
+ * closed rather than silently skipping events.
+ */
+@Component
+public class StreamRegistry implements MeterBinder, AutoCloseable {
+
+    private final Map<Long, Set<Stream>> streams = new ConcurrentHashMap<>();
+    private final AtomicInteger open = new AtomicInteger();
+    private final LongAdder dropped = new LongAdder();
+    private final List<Consumer<Long>> firstStreamListeners = new CopyOnWriteArrayList<>();
+    private final ThreadPoolExecutor dispatcher;
+    private final int maxConnections;
+    private final int maxPerUser;
+    private final int maxPendingPerStream;
+    private final long reconnectMillis;
+    // Built once and queued on every stream on each pass.
+    private final List<Set<DataWithMediaType>> heartbeat = List.of(SseEmitter.event().comment("heartbeat").build());
+
+    public StreamRegistry(@Value("${stream.max-connections:10000}") int maxConnections,
+                          @Value("${stream.max-connections-per-user:5}") int maxPerUser,
+                          @Value("${stream.max-pending-per-stream:100}") int maxPendingPerStream,
+                          @Value("${stream.reconnect-ms:3000}") long reconnectMillis,
+                          @Value("${stream.dispatch-threads:2}") int dispatchThreads,
+                          @Value("${stream.dispatch-queue-capacity:10000}") int queueCapacity) {
+        this.maxConnections = maxConnections;
+        this.maxPerUser = maxPerUser;
+        this.maxPendingPerStream = maxPendingPerStream;
+        this.reconnectMillis = reconnectMillis;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.dispatcher = new ThreadPoolExecutor(dispatchThreads, dispatchThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "stream-dispatch-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Registers a new stream for the user. It stays open until the client goes away or
+     * spring.mvc.async.request-timeout passes, after which the browser reconnects.
+     */
+    public SseEmitter open(Long userId) {
+        if (open.incrementAndGet() > maxConnections) {
+            open.decrementAndGet();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many open streams");
+        }
+        SseEmitter emitter = new SseEmitter();
+        Stream stream = new Stream(userId, emitter);
+        // Held until the response starts, then flushed with the headers; written before the
+        // stream is registered so it always comes first.
+        if (!stream.write(SseEmitter.event().reconnectTime(reconnectMillis).comment("connected").build())) {
+            open.decrementAndGet();
+            return emitter;
+        }
+
+        boolean[] added = {false};
+        boolean[] first = {false};
+        streams.compute(userId, (id, current) -> {
+            Set<Stream> userStreams = current != null ? current : ConcurrentHashMap.newKeySet();
+            if (userStreams.size() < maxPerUser) {
+                added[0] = userStreams.add(stream);
+                first[0] = current == null;
+            }
+            return userStreams.isEmpty() ? null : userStreams;
+        });
+        if (!added[0]) {
+            open.decrementAndGet();
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Too many open streams for this user");
+        }
+
+        emitter.onCompletion(() -> remove(stream));
+        emitter.onTimeout(() -> remove(stream));
+        emitter.onError(e -> remove(stream));
+        if (first[0]) {
+            firstStreamListeners.forEach(listener -> listener.accept(userId));
+        }
+        return emitter;
+    }
+
+    public boolean isWatched(Long userId) {
+        return streams.containsKey(userId);
+    }
+
+    /**
+     * @return the users with at least one stream open on this instance
+     */
+    public Set<Long> watchedUsers() {
+        return Set.copyOf(streams.keySet());
+    }
+
+    /**
+     * Called on the request thread whenever a user who had no stream open here opens one.
+     */
+    public void onFirstStream(Consumer<Long> listener) {
+        firstStreamListeners.add(listener);
+    }
+
+    /**
+     * Queues the events, in order and back to back, on every stream the user has open.
+     */
+    public void send(Long userId, List<Set<DataWithMediaType>> events) {
+        Set<Stream> userStreams = streams.get(userId);
+        if (userStreams != null && !events.isEmpty()) {
+            userStreams.forEach(stream -> stream.enqueue(events));
+        }
+    }
+
+    /**
+     * One pass over every open stream, so proxies and load balancers do not close idle ones.
+     */
+    @Scheduled(fixedDelayString = "${stream.heartbeat-interval-ms:25000}")
+    public void heartbeat() {
+        streams.values().forEach(userStreams -> userStreams.forEach(stream -> stream.enqueue(heartbeat)));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("stream.connections", open, AtomicInteger::get)
+                .description("Open /api/stream connections")
+                .register(registry);
+        Gauge.builder("stream.dispatch.queue.size", dispatcher, e -> e.getQueue().size())
+                .register(registry);
+        FunctionCounter.builder("stream.dispatch.dropped", dropped, LongAdder::sum)
+                .description("Streams closed because they fell behind or the dispatch queue was full")
+                .register(registry);
+    }
+
+    @Override
+    public void close() {
+        dispatcher.shutdownNow();
+    }
+
+    private void remove(Stream stream) {
+        streams.computeIfPresent(stream.userId, (id, userStreams) -> {
+            if (userStreams.remove(stream)) {
+                open.decrementAndGet();
+            }
+            return userStreams.isEmpty() ? null : userStreams;
+        });
+    }
+
+    /**
+     * One open connection and the events waiting to be written to it.
+     */
+    private final class Stream {
+
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final Queue<List<Set<DataWithMediaType>>> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingCount = new AtomicInteger();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private Stream(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        private void enqueue(List<Set<DataWithMediaType>> events) {
+            if (pendingCount.incrementAndGet() > maxPendingPerStream) {
+                dropped.increment();
+                fail(new IllegalStateException("Stream fell too far behind"));
+                return;
+            }
+            pending.add(events);
+            schedule();
+        }
+
+        private void schedule() {
+            if (!scheduled.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                dispatcher.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                scheduled.set(false);
+                dropped.increment();
+                fail(e);
+            }
+        }
+
+        private void drain() {
+            try {
+                List<Set<DataWithMediaType>> events;
+                while ((events = pending.poll()) != null) {
+                    pendingCount.decrementAndGet();
+                    for (Set<DataWithMediaType> event : events) {
+                        if (!write(event)) {
+                            pending.clear();
+                            return;
+                        }
+                    }
+                }
+            } finally {
+                scheduled.set(false);
+            }
+            // Something may have been queued after the last poll but before the flag was cleared.
+            if (!pending.isEmpty()) {
+                schedule();
+            }
+        }
+
+        private boolean write(Set<DataWithMediaType> event) {
+            try {
+                emitter.send(event);
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                // The client went away or the stream already completed.
+                fail(e);
+                return false;
+            }
+        }
+
+        private void fail(Throwable cause) {
+            remove(this);
+            emitter.completeWithError(cause);
+        }
+    }
+}
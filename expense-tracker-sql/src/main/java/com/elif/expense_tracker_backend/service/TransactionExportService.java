@@ -0,0 +1,150 @@
+package com.elif.expense_tracker_backend.service;
+
+import com.elif.expense_tracker_backend.security.UserPrincipal;
+import com.elif.expense_tracker_backend.transaction.Transaction;
+import com.elif.expense_tracker_backend.transaction.TransactionType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Full-history export of a user's transactions as CSV or NDJSON.
+ *
+ * Rows are read through a forward-only result stream with a JDBC fetch size, written to the
+ * response as they arrive and detached right after, so neither the persistence context nor
+ * the response buffer grows with the number of rows. The CSV columns match what
+ * {@link TransactionImportService} reads, so an export can be imported again.
+ */
+@Service
+public class TransactionExportService {
+
+    public enum Format { CSV, NDJSON }
+
+    private final TransactionService transactionService;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int fetchSize;
+
+    public TransactionExportService(TransactionService transactionService,
+                                    EntityManager entityManager,
+                                    ObjectMapper objectMapper,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${transactions.export.fetch-size:500}") int fetchSize) {
+        this.transactionService = transactionService;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Validates the filters up front, while an error can still become a 400, and returns a
+     * body that runs the query when the response is written.
+     */
+    public StreamingResponseBody export(UserPrincipal user,
+                                        TransactionType type,
+                                        Long categoryId,
+                                        String month,
+                                        LocalDate from,
+                                        LocalDate to,
+                                        Format format) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must not be after to");
+        }
+        Specification<Transaction> filter;
+        try {
+            filter = transactionService.filterSpec(user, type, categoryId, month, from, to);
+        } catch (DateTimeParseException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Month must be YYYY-MM");
+        }
+
+        return out -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<Transaction> rows = stream(filter)) {
+                    write(rows.iterator(), writer, format);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.flush();
+        };
+    }
+
+    private Stream<Transaction> stream(Specification<Transaction> filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Transaction> query = cb.createQuery(Transaction.class);
+        Root<Transaction> root = query.from(Transaction.class);
+        root.fetch("category");
+        query.where(filter.toPredicate(root, query, cb))
+                .orderBy(cb.asc(root.get("transactionDate")), cb.asc(root.get("id")));
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    private void write(Iterator<Transaction> rows, Writer writer, Format format) throws IOException {
+        if (format == Format.CSV) {
+            writer.write("id,date,type,category,amount,note,createdAt\n");
+        }
+        while (rows.hasNext()) {
+            Transaction tx = rows.next();
+            if (format == Format.CSV) {
+                writer.write(String.valueOf(tx.getId()));
+                writer.write(',');
+                writer.write(tx.getTransactionDate().toString());
+                writer.write(',');
+                writer.write(tx.getType().name());
+                writer.write(',');
+                writer.write(csvField(tx.getCategory().getName()));
+                writer.write(',');
+                writer.write(tx.getAmount().toPlainString());
+                writer.write(',');
+                writer.write(csvField(tx.getNote()));
+                writer.write(',');
+                writer.write(tx.getCreatedAt() == null ? "" : tx.getCreatedAt().toString());
+                writer.write('\n');
+            } else {
+                writer.write(objectMapper.writeValueAsString(transactionService.toResponse(tx)));
+                writer.write('\n');
+            }
+            // Categories stay attached: there are few of them and every row refers to one.
+            entityManager.detach(tx);
+        }
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,144 @@
+package com.elif.expense_tracker_backend.service;
+
+import com.elif.expense_tracker_backend.category.Category;
+import com.elif.expense_tracker_backend.config.DatabaseVendor;
+import com.elif.expense_tracker_backend.transaction.Transaction;
+import com.elif.expense_tracker_backend.transaction.TransactionType;
+import com.elif.expense_tracker_backend.user.User;
+import jakarta.persistence.EntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PrimitiveIterator;
+import java.util.stream.LongStream;
+
+/**
+ * Writes one batch of validated import rows in its own transaction, together with the
+ * matching rollup deltas, so each committed batch leaves reports consistent.
+ *
+ * Rows go through a plain JDBC batch rather than persist/flush, whose bookkeeping costs about
+ * as much again as the insert itself at this volume. Ids are reserved from transactions_seq the
+ * way the entity's pooled generator reserves them: each value read covers the
+ * {@link Transaction#ID_ALLOCATION_SIZE} ids ending at it, so the two never hand out the same
+ * id. On MySQL the sequence is a one-row table, bumped in its own short transaction as
+ * Hibernate does, so imports do not hold its lock while they write. A batch
+ * typically spans a few hundred (category, month, type) keys, which go through
+ * {@link MonthlyRollupService#addAll}.
+ */
+@Component
+public class TransactionImportChunkWriter {
+
+    private static final String INSERT_TRANSACTION = """
+            insert into transactions (id, user_id, category_id, type, amount, note, transaction_date, created_at)
+            values (?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String NEXT_VALUE_POSTGRESQL = "select nextval('transactions_seq')";
+    private static final String NEXT_VALUE_MYSQL = "update transactions_seq set next_val = last_insert_id(next_val + ?)";
+    private static final String NEXT_VALUE_STANDARD = "select next value for transactions_seq";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MonthlyRollupService monthlyRollupService;
+    private final DataVersions dataVersions;
+    private final LiveUpdates liveUpdates;
+    private final EntityManager entityManager;
+    private final DatabaseVendor databaseVendor;
+    private final TransactionTemplate separateTransaction;
+
+    public TransactionImportChunkWriter(JdbcTemplate jdbcTemplate,
+                                        MonthlyRollupService monthlyRollupService,
+                                        DataVersions dataVersions,
+                                        LiveUpdates liveUpdates,
+                                        EntityManager entityManager,
+                                        DatabaseVendor databaseVendor,
+                                        PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.monthlyRollupService = monthlyRollupService;
+        this.dataVersions = dataVersions;
+        this.liveUpdates = liveUpdates;
+        this.entityManager = entityManager;
+        this.databaseVendor = databaseVendor;
+        this.separateTransaction = new TransactionTemplate(transactionManager);
+        this.separateTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void write(Long userId, List<Row> rows) {
+        PrimitiveIterator.OfLong ids = reserveIds(rows.size());
+        Timestamp createdAt = Timestamp.from(Instant.now());
+        jdbcTemplate.batchUpdate(INSERT_TRANSACTION, rows, rows.size(), (ps, row) -> {
+            ps.setLong(1, ids.nextLong());
+            ps.setLong(2, userId);
+            ps.setLong(3, row.categoryId());
+            ps.setString(4, row.type().name());
+            ps.setBigDecimal(5, row.amount());
+            ps.setString(6, row.note());
+            ps.setDate(7, Date.valueOf(row.transactionDate()));
+            ps.setTimestamp(8, createdAt);
+        });
+
+        User user = entityManager.getReference(User.class, userId);
+        Map<RollupKey, MonthlyRollupService.Delta> rollup = new LinkedHashMap<>();
+        for (Row row : rows) {
+            RollupKey key = new RollupKey(row.categoryId(), YearMonth.from(row.transactionDate()), row.type());
+            rollup.merge(key, new MonthlyRollupService.Delta(user,
+                            entityManager.getReference(Category.class, row.categoryId()),
+                            key.month(), key.type(), row.amount()),
+                    MonthlyRollupService.Delta::plus);
+        }
+        monthlyRollupService.addAll(rollup.values());
+        dataVersions.bump(userId);
+        liveUpdates.transactionsAdded(userId, rows.size());
+    }
+
+    private PrimitiveIterator.OfLong reserveIds(int count) {
+        List<Long> blockEnds = new ArrayList<>();
+        while (blockEnds.size() * (long) Transaction.ID_ALLOCATION_SIZE < count) {
+            long end = nextBlockEnd();
+            // A fresh sequence starts at 1, which the pooled generator treats specially.
+            if (end >= Transaction.ID_ALLOCATION_SIZE) {
+                blockEnds.add(end);
+            }
+        }
+        return blockEnds.stream()
+                .flatMapToLong(end -> LongStream.rangeClosed(end - Transaction.ID_ALLOCATION_SIZE + 1, end))
+                .iterator();
+    }
+
+    private long nextBlockEnd() {
+        return switch (databaseVendor.get()) {
+            case POSTGRESQL -> jdbcTemplate.queryForObject(NEXT_VALUE_POSTGRESQL, Long.class);
+            case MYSQL, MARIADB -> separateTransaction.execute(status -> {
+                jdbcTemplate.update(NEXT_VALUE_MYSQL, Transaction.ID_ALLOCATION_SIZE);
+                // The value before the increment, which is what the pooled generator would have read.
+                return jdbcTemplate.queryForObject("select last_insert_id()", Long.class) - Transaction.ID_ALLOCATION_SIZE;
+            });
+            default -> jdbcTemplate.queryForObject(NEXT_VALUE_STANDARD, Long.class);
+        };
+    }
+
+    /**
+     * A validated row, already resolved to one of the importing user's categories.
+     */
+    public record Row(long line, Long categoryId, TransactionType type, BigDecimal amount, String note,
+                      LocalDate transactionDate) {
+    }
+
+    private record RollupKey(Long categoryId, YearMonth month, TransactionType type) {
+    }
+}
@@ -0,0 +1,277 @@
+package com.elif.expense_tracker_backend.service;
+
+import com.elif.expense_tracker_backend.category.Category;
+import com.elif.expense_tracker_backend.repository.CategoryRepository;
+import com.elif.expense_tracker_backend.security.UserPrincipal;
+import com.elif.expense_tracker_backend.transaction.CsvRecordReader;
+import com.elif.expense_tracker_backend.transaction.TransactionImportError;
+import com.elif.expense_tracker_backend.transaction.TransactionImportResult;
+import com.elif.expense_tracker_backend.transaction.TransactionType;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Bulk import of transactions from CSV or NDJSON.
+ *
+ * The body is parsed one record at a time and valid rows are handed to
+ * {@link TransactionImportChunkWriter} in fixed-size batches, so memory does not grow with
+ * the file. Category names are resolved once per import from the user's categories; rows
+ * that fail validation are skipped and reported by line number.
+ */
+@Service
+public class TransactionImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionImportService.class);
+
+    private static final int MAX_NOTE_LENGTH = 255;
+
+    public enum Format { CSV, NDJSON }
+
+    private final CategoryRepository categoryRepository;
+    private final TransactionImportChunkWriter chunkWriter;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final int maxReportedErrors;
+
+    public TransactionImportService(CategoryRepository categoryRepository,
+                                    TransactionImportChunkWriter chunkWriter,
+                                    ObjectMapper objectMapper,
+                                    @Value("${transactions.import.batch-size:1000}") int batchSize,
+                                    @Value("${transactions.import.max-reported-errors:100}") int maxReportedErrors) {
+        this.categoryRepository = categoryRepository;
+        this.chunkWriter = chunkWriter;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    public TransactionImportResult importTransactions(UserPrincipal user, InputStream body, Format format) throws IOException {
+        Map<String, Category> categories = new HashMap<>();
+        for (Category category : categoryRepository.findByUserId(user.getId())) {
+            categories.put(category.getName().toLowerCase(Locale.ROOT), category);
+        }
+
+        Import run = new Import(user.getId(), categories);
+        InputStreamReader reader = new InputStreamReader(body, StandardCharsets.UTF_8);
+        if (format == Format.CSV) {
+            readCsv(new CsvRecordReader(reader), run);
+        } else {
+            readNdjson(new BufferedReader(reader), run);
+        }
+        run.flush();
+        return run.result();
+    }
+
+    private void readCsv(CsvRecordReader csv, Import run) throws IOException {
+        List<String> header = csv.next();
+        if (header == null) {
+            return;
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(canonicalField(header.get(i)), i);
+        }
+        if (!columns.containsKey("date") || !columns.containsKey("category") || !columns.containsKey("amount")) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "CSV header must include date, category and amount columns");
+        }
+
+        try {
+            List<String> record;
+            while ((record = csv.next()) != null) {
+                run.accept(csv.getRecordLine(),
+                        column(record, columns, "date"),
+                        column(record, columns, "type"),
+                        column(record, columns, "category"),
+                        column(record, columns, "amount"),
+                        column(record, columns, "note"));
+            }
+        } catch (CsvRecordReader.MalformedCsvException e) {
+            // Records cannot be resynchronised after a broken quote; keep what was read so far.
+            run.malformed(csv.getRecordLine(), e.getMessage() + "; the rest of the file was not read");
+        }
+    }
+
+    private void readNdjson(BufferedReader lines, Import run) throws IOException {
+        String line;
+        long lineNumber = 0;
+        while ((line = lines.readLine()) != null) {
+            lineNumber++;
+            if (lineNumber == 1 && line.startsWith("\uFEFF")) {
+                line = line.substring(1);
+            }
+            if (line.isBlank()) {
+                continue;
+            }
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(line);
+            } catch (JsonProcessingException e) {
+                run.malformed(lineNumber, "Invalid JSON");
+                continue;
+            }
+            if (!node.isObject()) {
+                run.malformed(lineNumber, "Expected a JSON object");
+                continue;
+            }
+            Map<String, String> fields = new HashMap<>();
+            node.fields().forEachRemaining(field -> {
+                if (!field.getValue().isNull()) {
+                    fields.put(canonicalField(field.getKey()), field.getValue().asText());
+                }
+            });
+            run.accept(lineNumber, fields.get("date"), fields.get("type"), fields.get("category"),
+                    fields.get("amount"), fields.get("note"));
+        }
+    }
+
+    private static String column(List<String> record, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        return index == null || index >= record.size() ? null : record.get(index);
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    /**
+     * Accepts the TransactionRequest field names as aliases.
+     */
+    private static String canonicalField(String name) {
+        String key = name.trim().toLowerCase(Locale.ROOT);
+        return switch (key) {
+            case "transactiondate" -> "date";
+            case "categoryname" -> "category";
+            default -> key;
+        };
+    }
+
+    /**
+     * State of one import: the pending batch and the running counts.
+     */
+    private final class Import {
+
+        private final Long userId;
+        private final Map<String, Category> categories;
+        private final List<TransactionImportChunkWriter.Row> batch = new ArrayList<>(batchSize);
+        private final List<TransactionImportError> errors = new ArrayList<>();
+        private long rows;
+        private long imported;
+        private long failed;
+
+        private Import(Long userId, Map<String, Category> categories) {
+            this.userId = userId;
+            this.categories = categories;
+        }
+
+        void accept(long line, String date, String type, String categoryName, String amount, String note) {
+            rows++;
+            if (isBlank(categoryName)) {
+                reject(line, "Category is required");
+                return;
+            }
+            Category category = categories.get(categoryName.trim().toLowerCase(Locale.ROOT));
+            if (category == null) {
+                reject(line, "Unknown category '" + categoryName.trim() + "'");
+                return;
+            }
+
+            LocalDate transactionDate;
+            try {
+                transactionDate = LocalDate.parse(date == null ? "" : date.trim());
+            } catch (DateTimeParseException e) {
+                reject(line, "Date must be YYYY-MM-DD");
+                return;
+            }
+
+            BigDecimal value;
+            try {
+                value = new BigDecimal(amount == null ? "" : amount.trim());
+            } catch (NumberFormatException e) {
+                reject(line, "Amount is not a number");
+                return;
+            }
+            if (value.signum() <= 0) {
+                reject(line, "Amount must be greater than zero");
+                return;
+            }
+
+            // Without a type column the row takes its category's type.
+            TransactionType transactionType = category.getType();
+            if (!isBlank(type)) {
+                try {
+                    transactionType = TransactionType.valueOf(type.trim().toUpperCase(Locale.ROOT));
+                } catch (IllegalArgumentException e) {
+                    reject(line, "Type must be EXPENSE or INCOME");
+                    return;
+                }
+            }
+
+            String trimmedNote = isBlank(note) ? null : note.trim();
+            if (trimmedNote != null && trimmedNote.length() > MAX_NOTE_LENGTH) {
+                reject(line, "Note is longer than " + MAX_NOTE_LENGTH + " characters");
+                return;
+            }
+
+            batch.add(new TransactionImportChunkWriter.Row(
+                    line, category.getId(), transactionType, value, trimmedNote, transactionDate));
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void malformed(long line, String message) {
+            rows++;
+            reject(line, message);
+        }
+
+        void reject(long line, String message) {
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new TransactionImportError(line, message));
+            }
+            failed++;
+        }
+
+        void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                chunkWriter.write(userId, batch);
+                imported += batch.size();
+            } catch (RuntimeException e) {
+                log.error("Import batch for user {} failed (lines {}-{})",
+                        userId, batch.get(0).line(), batch.get(batch.size() - 1).line(), e);
+                reject(batch.get(0).line(), "Rows on lines " + batch.get(0).line() + "-"
+                        + batch.get(batch.size() - 1).line() + " could not be saved");
+                failed += batch.size() - 1;
+            }
+            batch.clear();
+        }
+
+        TransactionImportResult result() {
+            return new TransactionImportResult(rows, imported, failed, List.copyOf(errors), failed > errors.size());
+        }
+    }
+}
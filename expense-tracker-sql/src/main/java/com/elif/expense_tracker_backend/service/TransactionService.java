@@ -3,89 +3,144 @@ package com.elif.expense_tracker_backend.service;
 import com.elif.expense_tracker_backend.category.Category;
 import com.elif.expense_tracker_backend.repository.CategoryRepository;
 import com.elif.expense_tracker_backend.repository.TransactionRepository;
+import com.elif.expense_tracker_backend.repository.UserRepository;
+import com.elif.expense_tracker_backend.security.UserPrincipal;
 import com.elif.expense_tracker_backend.transaction.Transaction;
 import com.elif.expense_tracker_backend.transaction.TransactionRequest;
 import com.elif.expense_tracker_backend.transaction.TransactionResponse;
+import com.elif.expense_tracker_backend.transaction.TransactionSlice;
 import com.elif.expense_tracker_backend.transaction.TransactionType;
-import com.elif.expense_tracker_backend.user.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.YearMonth;
+import java.util.Base64;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class TransactionService {
 
+    private static final int MAX_SLICE_SIZE = 100;
+    private static final Sort KEYSET_SORT = Sort.by(Sort.Order.desc("transactionDate"), Sort.Order.desc("id"));
+
     private final TransactionRepository transactionRepository;
     private final CategoryRepository categoryRepository;
-
-    public TransactionService(TransactionRepository transactionRepository, CategoryRepository categoryRepository) {
+    private final MonthlyRollupService monthlyRollupService;
+    private final DataVersions dataVersions;
+    private final LiveUpdates liveUpdates;
+    private final UserRepository userRepository;
+
+    public TransactionService(TransactionRepository transactionRepository,
+                              CategoryRepository categoryRepository,
+                              MonthlyRollupService monthlyRollupService,
+                              DataVersions dataVersions,
+                              LiveUpdates liveUpdates,
+                              UserRepository userRepository) {
         this.transactionRepository = transactionRepository;
         this.categoryRepository = categoryRepository;
+        this.monthlyRollupService = monthlyRollupService;
+        this.dataVersions = dataVersions;
+        this.liveUpdates = liveUpdates;
+        this.userRepository = userRepository;
     }
 
-    public Page<TransactionResponse> list(User user,
+    @Transactional(readOnly = true)
+    public Page<TransactionResponse> list(UserPrincipal user,
                                           TransactionType type,
                                           Long categoryId,
                                           String month,
                                           Pageable pageable) {
-        Specification<Transaction> spec = baseSpec(user.getId());
-
-        if (type != null) {
-            spec = spec.and((root, query, cb) -> cb.equal(root.get("type"), type));
-        }
-
-        if (categoryId != null) {
-            spec = spec.and((root, query, cb) -> cb.equal(root.get("category").get("id"), categoryId));
-        }
-
-        if (month != null) {
-            YearMonth yearMonth = YearMonth.parse(month);
-            LocalDate start = yearMonth.atDay(1);
-            LocalDate end = yearMonth.atEndOfMonth();
-            spec = spec.and((root, query, cb) -> cb.between(root.get("transactionDate"), start, end));
-        }
-
-        return transactionRepository.findAll(spec, pageable)
+        return transactionRepository.findAll(filterSpec(user, type, categoryId, month), pageable)
                 .map(this::toResponse);
     }
 
-    public Transaction create(User user, TransactionRequest request) {
+    /**
+     * Keyset-paginated listing ordered by (transactionDate, id) descending. Each page seeks
+     * past the previous page's last row instead of using OFFSET, and no count query runs,
+     * so deep pages cost the same as the first one.
+     */
+    @Transactional(readOnly = true)
+    public TransactionSlice listAfter(UserPrincipal user,
+                                      TransactionType type,
+                                      Long categoryId,
+                                      String month,
+                                      String cursor,
+                                      int size) {
+        int limit = Math.min(Math.max(size, 1), MAX_SLICE_SIZE);
+        ScrollPosition position = cursor == null ? ScrollPosition.keyset() : decodeCursor(cursor);
+
+        // The fluent query takes no entity graph for scroll(), so the category is fetch-joined in the spec.
+        Specification<Transaction> spec = filterSpec(user, type, categoryId, month)
+                .and((root, query, cb) -> {
+                    root.fetch("category");
+                    return null;
+                });
+        Window<Transaction> window = transactionRepository.findBy(
+                spec, query -> query.sortBy(KEYSET_SORT).limit(limit).scroll(position));
+
+        String nextCursor = window.hasNext() && !window.isEmpty()
+                ? encodeCursor(window.getContent().get(window.size() - 1))
+                : null;
+        return new TransactionSlice(window.map(this::toResponse).getContent(), nextCursor, nextCursor != null);
+    }
+
+    @Transactional
+    public Transaction create(UserPrincipal user, TransactionRequest request) {
         Category category = getOwnedCategory(user, request.getCategoryId());
         Transaction transaction = Transaction.builder()
-                .user(user)
+                .user(userRepository.getReferenceById(user.getId()))
                 .type(request.getType())
                 .category(category)
                 .amount(request.getAmount())
                 .note(request.getNote())
                 .transactionDate(request.getTransactionDate())
                 .build();
-        return transactionRepository.save(transaction);
+        Transaction saved = transactionRepository.save(transaction);
+        monthlyRollupService.record(saved);
+        dataVersions.bump(user.getId());
+        liveUpdates.transactionSaved(user.getId(), "created", toResponse(saved));
+        return saved;
     }
 
-    public Transaction update(User user, Long id, TransactionRequest request) {
+    @Transactional
+    public Transaction update(UserPrincipal user, Long id, TransactionRequest request) {
         Transaction existing = getOwnedTransaction(user, id);
         Category category = getOwnedCategory(user, request.getCategoryId());
+        monthlyRollupService.reverse(existing);
         existing.setType(request.getType());
         existing.setCategory(category);
         existing.setAmount(request.getAmount());
         existing.setNote(request.getNote());
         existing.setTransactionDate(request.getTransactionDate());
-        return transactionRepository.save(existing);
+        Transaction saved = transactionRepository.save(existing);
+        monthlyRollupService.record(saved);
+        dataVersions.bump(user.getId());
+        liveUpdates.transactionSaved(user.getId(), "updated", toResponse(saved));
+        return saved;
     }
 
-    public void delete(User user, Long id) {
+    @Transactional
+    public void delete(UserPrincipal user, Long id) {
         Transaction existing = getOwnedTransaction(user, id);
+        monthlyRollupService.reverse(existing);
         transactionRepository.delete(existing);
+        dataVersions.bump(user.getId());
+        liveUpdates.transactionDeleted(user.getId(), id);
     }
 
-    public List<Transaction> findByMonth(User user, YearMonth month) {
+    public List<Transaction> findByMonth(UserPrincipal user, YearMonth month) {
         LocalDate start = month.atDay(1);
         LocalDate end = month.atEndOfMonth();
         Specification<Transaction> spec = baseSpec(user.getId())
@@ -93,7 +148,7 @@ public class TransactionService {
         return transactionRepository.findAll(spec);
     }
 
-    private Transaction getOwnedTransaction(User user, Long id) {
+    private Transaction getOwnedTransaction(UserPrincipal user, Long id) {
         Transaction tx = transactionRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Transaction not found"));
         if (!tx.getUser().getId().equals(user.getId())) {
@@ -102,7 +157,7 @@ public class TransactionService {
         return tx;
     }
 
-    private Category getOwnedCategory(User user, Long categoryId) {
+    private Category getOwnedCategory(UserPrincipal user, Long categoryId) {
         Category category = categoryRepository.findById(categoryId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Category not found"));
         if (!category.getUser().getId().equals(user.getId())) {
@@ -124,6 +179,67 @@ public class TransactionService {
                 .build();
     }
 
+    private Specification<Transaction> filterSpec(UserPrincipal user,
+                                                  TransactionType type,
+                                                  Long categoryId,
+                                                  String month) {
+        return filterSpec(user, type, categoryId, month, null, null);
+    }
+
+    /**
+     * Listing filters plus an optional inclusive date range; shared with the export.
+     */
+    Specification<Transaction> filterSpec(UserPrincipal user,
+                                          TransactionType type,
+                                          Long categoryId,
+                                          String month,
+                                          LocalDate from,
+                                          LocalDate to) {
+        Specification<Transaction> spec = baseSpec(user.getId());
+
+        if (type != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("type"), type));
+        }
+
+        if (categoryId != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("category").get("id"), categoryId));
+        }
+
+        if (month != null) {
+            YearMonth yearMonth = YearMonth.parse(month);
+            LocalDate start = yearMonth.atDay(1);
+            LocalDate end = yearMonth.atEndOfMonth();
+            spec = spec.and((root, query, cb) -> cb.between(root.get("transactionDate"), start, end));
+        }
+
+        if (from != null) {
+            spec = spec.and((root, query, cb) -> cb.greaterThanOrEqualTo(root.get("transactionDate"), from));
+        }
+
+        if (to != null) {
+            spec = spec.and((root, query, cb) -> cb.lessThanOrEqualTo(root.get("transactionDate"), to));
+        }
+        return spec;
+    }
+
+    private static String encodeCursor(Transaction last) {
+        String raw = last.getTransactionDate() + "|" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static ScrollPosition decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 2);
+            Map<String, Object> keys = new LinkedHashMap<>();
+            keys.put("transactionDate", LocalDate.parse(parts[0]));
+            keys.put("id", Long.valueOf(parts[1]));
+            return ScrollPosition.forward(keys);
+        } catch (RuntimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+
     private Specification<Transaction> baseSpec(Long userId) {
         return (root, query, cb) -> cb.equal(root.get("user").get("id"), userId);
     }
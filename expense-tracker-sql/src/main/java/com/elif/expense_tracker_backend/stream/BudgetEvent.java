@@ -0,0 +1,16 @@
+package com.elif.expense_tracker_backend.stream;
+
+import com.elif.expense_tracker_backend.budget.BudgetSummary;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * A budget whose spend changed. {@code crossed} is "nearLimit" or "exceeded" when this change
+ * pushed the budget over that threshold, otherwise null.
+ */
+@Getter
+@Builder
+public class BudgetEvent {
+    private BudgetSummary budget;
+    private String crossed;
+}
@@ -0,0 +1,13 @@
+package com.elif.expense_tracker_backend.stream;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Transactions added in bulk (recurring payment run, CSV import) in one commit.
+ */
+@Getter
+@Builder
+public class TransactionBatchEvent {
+    private int added;
+}
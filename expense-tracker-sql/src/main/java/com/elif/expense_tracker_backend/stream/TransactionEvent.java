@@ -0,0 +1,16 @@
+package com.elif.expense_tracker_backend.stream;
+
+import com.elif.expense_tracker_backend.transaction.TransactionResponse;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * A transaction created, updated or deleted through the API; {@code transaction} is null for deletes.
+ */
+@Getter
+@Builder
+public class TransactionEvent {
+    private String action;
+    private Long id;
+    private TransactionResponse transaction;
+}
@@ -0,0 +1,44 @@
+package com.elif.expense_tracker_backend.token;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/**
+ * Deletes expired refresh tokens in batches, each in its own transaction, so the purge never
+ * holds locks on more than one batch of rows.
+ */
+@Component
+public class RefreshTokenPurgeJob {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenPurgeJob.class);
+
+    private final RefreshTokenService refreshTokenService;
+    private final int batchSize;
+
+    public RefreshTokenPurgeJob(RefreshTokenService refreshTokenService,
+                                @Value("${jwt.refresh-purge.batch-size:1000}") int batchSize) {
+        this.refreshTokenService = refreshTokenService;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(cron = "${jwt.refresh-purge.cron:0 15 * * * *}")
+    public int purgeExpired() {
+        Instant now = Instant.now();
+        int purged = 0;
+        int deleted;
+        do {
+            deleted = refreshTokenService.purgeExpired(now, batchSize);
+            purged += deleted;
+        } while (deleted == batchSize);
+
+        if (purged > 0) {
+            log.info("Purged {} expired refresh tokens", purged);
+        }
+        return purged;
+    }
+}
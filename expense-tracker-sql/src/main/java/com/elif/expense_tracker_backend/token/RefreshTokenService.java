@@ -1,50 +1,136 @@
 package com.elif.expense_tracker_backend.token;
 
+import com.elif.expense_tracker_backend.config.DatabaseVendor;
 import com.elif.expense_tracker_backend.repository.RefreshTokenRepository;
 import com.elif.expense_tracker_backend.user.User;
+import jakarta.persistence.EntityManager;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
 import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
 import java.util.Optional;
-import java.util.UUID;
 
+/**
+ * One refresh token per user, stored as a SHA-256 hash and looked up by it. Issuing a token
+ * rewrites the user's row in place, so login and refresh cost a fixed number of statements;
+ * expired rows are removed by {@link RefreshTokenPurgeJob}.
+ */
 @Service
 @Transactional
 public class RefreshTokenService {
 
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    // Keyed on uk_refresh_tokens_user, so two logins racing for a user's first token both end
+    // up rotating the one row. Tokens are only ever inserted here, so on MySQL the id can come
+    // from AUTO_INCREMENT without colliding with pooled ids.
+    private static final String UPSERT_POSTGRESQL = """
+            insert into refresh_tokens (user_id, token_hash, expiry_date)
+            values (:userId, :tokenHash, :expiryDate)
+            on conflict (user_id)
+            do update set token_hash = excluded.token_hash, expiry_date = excluded.expiry_date
+            """;
+    private static final String UPSERT_MYSQL = """
+            insert into refresh_tokens (user_id, token_hash, expiry_date)
+            values (:userId, :tokenHash, :expiryDate)
+            on duplicate key update token_hash = values(token_hash), expiry_date = values(expiry_date)
+            """;
+    // H2 in tests; not safe against a concurrent first insert for the same user.
+    private static final String UPSERT_MERGE = """
+            merge into refresh_tokens t
+            using (select cast(:userId as bigint) user_id, cast(:tokenHash as varchar(64)) token_hash,
+                          cast(:expiryDate as timestamp(6) with time zone) expiry_date) s
+            on t.user_id = s.user_id
+            when matched then update set token_hash = s.token_hash, expiry_date = s.expiry_date
+            when not matched then insert (id, user_id, token_hash, expiry_date)
+                values (next value for refresh_tokens_seq, s.user_id, s.token_hash, s.expiry_date)
+            """;
+
     @Value("${jwt.refresh-expiration}")
     private long refreshTokenDurationMs;
 
     private final RefreshTokenRepository refreshTokenRepository;
+    private final EntityManager entityManager;
+    private final DatabaseVendor databaseVendor;
 
-    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository) {
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               EntityManager entityManager,
+                               DatabaseVendor databaseVendor) {
         this.refreshTokenRepository = refreshTokenRepository;
+        this.entityManager = entityManager;
+        this.databaseVendor = databaseVendor;
     }
 
+    @Transactional(readOnly = true)
     public Optional<RefreshToken> findByToken(String token) {
-        return refreshTokenRepository.findByToken(token);
+        return refreshTokenRepository.findByTokenHash(hash(token));
     }
 
-    @Transactional
-    public RefreshToken createRefreshToken(User user) {
-        refreshTokenRepository.deleteByUser(user);
+    /**
+     * Issues a new token, replacing the user's previous one in a single upsert. Returns the
+     * token itself, which is not stored.
+     */
+    public String createRefreshToken(User user) {
+        byte[] random = new byte[32];
+        RANDOM.nextBytes(random);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(random);
+        String tokenHash = hash(token);
+        Instant expiryDate = Instant.now().plusMillis(refreshTokenDurationMs);
 
-        RefreshToken refreshToken = RefreshToken.builder()
-                .user(user)
-                .token(UUID.randomUUID().toString())
-                .expiryDate(Instant.now().plusMillis(refreshTokenDurationMs))
-                .build();
-        return refreshTokenRepository.save(refreshToken);
+        entityManager.createNativeQuery(upsertStatement())
+                .setParameter("userId", user.getId())
+                .setParameter("tokenHash", tokenHash)
+                .setParameter("expiryDate", expiryDate)
+                .executeUpdate();
+        return token;
     }
 
-    @Transactional
+    @Transactional(noRollbackFor = ResponseStatusException.class)
     public RefreshToken verifyExpiration(RefreshToken token) {
         if (token.getExpiryDate().isBefore(Instant.now())) {
-            refreshTokenRepository.delete(token);
-            throw new RuntimeException("Refresh token expired, please login again");
+            refreshTokenRepository.deleteAllByIdInBatch(List.of(token.getId()));
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Refresh token expired, please login again");
         }
         return token;
     }
+
+    /**
+     * Deletes up to {@code limit} tokens that expired before {@code now}, in one statement.
+     */
+    public int purgeExpired(Instant now, int limit) {
+        List<Long> ids = refreshTokenRepository.findExpiredIds(now, PageRequest.of(0, limit));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        refreshTokenRepository.deleteAllByIdInBatch(ids);
+        return ids.size();
+    }
+
+    private String upsertStatement() {
+        return switch (databaseVendor.get()) {
+            case POSTGRESQL -> UPSERT_POSTGRESQL;
+            case MYSQL, MARIADB -> UPSERT_MYSQL;
+            default -> UPSERT_MERGE;
+        };
+    }
+
+    static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
 }
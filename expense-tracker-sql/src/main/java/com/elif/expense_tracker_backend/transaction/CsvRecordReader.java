@@ -0,0 +1,153 @@
+package com.elif.expense_tracker_backend.transaction;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal streaming RFC 4180 reader: comma-separated, double-quoted fields with "" escapes,
+ * quoted fields may span lines. Reads one record at a time, so memory stays bounded by the
+ * longest record rather than the file. A leading byte order mark is skipped.
+ */
+public class CsvRecordReader {
+
+    private static final int MAX_FIELD_LENGTH = 64 * 1024;
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+    private final Reader reader;
+    private final char[] buffer = new char[8192];
+    private final StringBuilder field = new StringBuilder();
+    private int position;
+    private int limit;
+    private long lineNumber = 1;
+    private long recordLine = 1;
+    private int pushedBack = -2;
+    private boolean started;
+
+    public CsvRecordReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * @return the next record, or null at end of input. Blank lines are skipped.
+     */
+    public List<String> next() throws IOException {
+        if (!started) {
+            started = true;
+            int first = read();
+            if (first != BYTE_ORDER_MARK) {
+                unread(first);
+            }
+        }
+        while (true) {
+            int c = read();
+            if (c == -1) {
+                return null;
+            }
+            if (c == '\r' || c == '\n') {
+                consumeLineEnd(c);
+                continue;
+            }
+            unread(c);
+            return readRecord();
+        }
+    }
+
+    /**
+     * 1-based line on which the record last returned by {@link #next()} started.
+     */
+    public long getRecordLine() {
+        return recordLine;
+    }
+
+    private List<String> readRecord() throws IOException {
+        recordLine = lineNumber;
+        List<String> fields = new ArrayList<>();
+        field.setLength(0);
+        boolean quoted = false;
+        boolean inQuotes = false;
+        while (true) {
+            if (field.length() > MAX_FIELD_LENGTH) {
+                throw new MalformedCsvException("Field longer than " + MAX_FIELD_LENGTH + " characters");
+            }
+            int c = read();
+            if (inQuotes) {
+                if (c == -1) {
+                    throw new MalformedCsvException("Unterminated quoted field");
+                }
+                if (c == '"') {
+                    int peek = read();
+                    if (peek == '"') {
+                        field.append('"');
+                    } else {
+                        inQuotes = false;
+                        unread(peek);
+                    }
+                } else if (c == '\n' || c == '\r') {
+                    consumeLineEnd(c);
+                    field.append('\n');
+                } else {
+                    field.append((char) c);
+                }
+                continue;
+            }
+            if (c == '"' && field.isEmpty() && !quoted) {
+                quoted = true;
+                inQuotes = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                quoted = false;
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c != -1) {
+                    consumeLineEnd(c);
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+        }
+    }
+
+    private void consumeLineEnd(int c) throws IOException {
+        if (c == '\r') {
+            int peek = read();
+            if (peek != '\n') {
+                unread(peek);
+            }
+        }
+        lineNumber++;
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != -2) {
+            int c = pushedBack;
+            pushedBack = -2;
+            return c;
+        }
+        if (position == limit) {
+            limit = reader.read(buffer, 0, buffer.length);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        return buffer[position++];
+    }
+
+    private void unread(int c) {
+        pushedBack = c;
+    }
+
+    /**
+     * The input cannot be split into records past this point.
+     */
+    public static class MalformedCsvException extends IOException {
+        public MalformedCsvException(String message) {
+            super(message);
+        }
+    }
+}
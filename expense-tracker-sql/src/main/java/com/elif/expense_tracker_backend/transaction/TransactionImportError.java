@@ -0,0 +1,14 @@
+package com.elif.expense_tracker_backend.transaction;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A rejected import row. {@code line} is the 1-based line in the uploaded file.
+ */
+@Getter
+@AllArgsConstructor
+public class TransactionImportError {
+    private long line;
+    private String message;
+}
@@ -0,0 +1,19 @@
+package com.elif.expense_tracker_backend.transaction;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk import. Only the first errors are listed; {@code failed} counts all of them.
+ */
+@Getter
+@AllArgsConstructor
+public class TransactionImportResult {
+    private long rows;
+    private long imported;
+    private long failed;
+    private List<TransactionImportError> errors;
+    private boolean errorsTruncated;
+}
@@ -0,0 +1,18 @@
+package com.elif.expense_tracker_backend.transaction;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated transaction listing. {@code nextCursor} is an opaque
+ * token to pass back as {@code cursor}; it is null on the last page.
+ */
+@Getter
+@AllArgsConstructor
+public class TransactionSlice {
+    private List<TransactionResponse> content;
+    private String nextCursor;
+    private boolean hasNext;
+}
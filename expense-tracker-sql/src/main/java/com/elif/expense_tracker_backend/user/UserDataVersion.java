@@ -0,0 +1,26 @@
+package com.elif.expense_tracker_backend.user;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * A user's data version, see {@link com.elif.expense_tracker_backend.service.DataVersions}.
+ * Rows are only written by its upserts; the mapping is here for reads and the schema.
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(name = "user_data_versions")
+public class UserDataVersion {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(nullable = false)
+    private long version;
+}
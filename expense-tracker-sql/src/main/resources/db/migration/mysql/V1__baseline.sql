@@ -0,0 +1,80 @@
+-- Schema as previously created by hibernate ddl-auto=update.
+-- Existing databases are baselined at this version and skip it.
+
+create table users (
+    id bigint not null auto_increment,
+    email varchar(255) not null,
+    password varchar(255) not null,
+    enabled bit not null,
+    created_at datetime(6),
+    primary key (id),
+    constraint UK6dotkott2kjsp8vw4d0m25fb7 unique (email)
+) engine=InnoDB;
+
+create table user_roles (
+    user_id bigint not null,
+    role enum ('ROLE_ADMIN','ROLE_USER'),
+    constraint FKhfh9dx7w3ubf1co1vdev94g3f foreign key (user_id) references users (id)
+) engine=InnoDB;
+
+create table categories (
+    id bigint not null auto_increment,
+    user_id bigint not null,
+    name varchar(255) not null,
+    type enum ('EXPENSE','INCOME') not null,
+    primary key (id),
+    constraint UKn22vnmml6mjq0j6i24cavceas unique (user_id, name),
+    constraint FKghuylkwuedgl2qahxjt8g41kb foreign key (user_id) references users (id)
+) engine=InnoDB;
+
+create table transactions (
+    id bigint not null auto_increment,
+    user_id bigint not null,
+    category_id bigint not null,
+    type enum ('EXPENSE','INCOME') not null,
+    amount decimal(38,2) not null,
+    note varchar(255),
+    transaction_date date not null,
+    created_at datetime(6),
+    primary key (id),
+    constraint FKqwv7rmvc8va8rep7piikrojds foreign key (user_id) references users (id),
+    constraint FKsqqi7sneo04kast0o138h19mv foreign key (category_id) references categories (id)
+) engine=InnoDB;
+
+create table budgets (
+    id bigint not null auto_increment,
+    user_id bigint not null,
+    category varchar(255) not null,
+    month_key varchar(255) not null,
+    limit_amount decimal(38,2) not null,
+    warning_threshold float(53),
+    created_at datetime(6),
+    primary key (id),
+    constraint FKln0tm5tgf3f9q3sp9sa5m8m7b foreign key (user_id) references users (id)
+) engine=InnoDB;
+
+create table recurring_payments (
+    id bigint not null auto_increment,
+    user_id bigint not null,
+    category_id bigint not null,
+    type enum ('EXPENSE','INCOME') not null,
+    amount decimal(38,2) not null,
+    note varchar(255),
+    frequency enum ('DAILY','MONTHLY','WEEKLY') not null,
+    next_run date not null,
+    active bit not null,
+    created_at datetime(6),
+    primary key (id),
+    constraint FKt4ee3x3ulo5ac90xs1auy7b1n foreign key (user_id) references users (id),
+    constraint FK1vy2qoei5v8y5gl89p65by1lu foreign key (category_id) references categories (id)
+) engine=InnoDB;
+
+create table refresh_tokens (
+    id bigint not null auto_increment,
+    user_id bigint not null,
+    token varchar(255) not null,
+    expiry_date datetime(6) not null,
+    primary key (id),
+    constraint UKghpmfn23vmxfu3spu3lfg4r2d unique (token),
+    constraint FK1lih5y2npsf8u5o3vhdb9y0os foreign key (user_id) references users (id)
+) engine=InnoDB;
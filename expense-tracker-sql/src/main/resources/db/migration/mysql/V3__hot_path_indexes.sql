@@ -0,0 +1,19 @@
+-- Composite indexes for the per-user hot paths.
+
+-- Transaction listing, keyset pagination and month filters: user_id = ? order by transaction_date desc, id desc
+create index idx_transactions_user_date on transactions (user_id, transaction_date, id);
+
+-- Listing filtered by category
+create index idx_transactions_user_category_date on transactions (user_id, category_id, transaction_date);
+
+-- Budget list and the duplicate check, which compares upper(category) = upper(?)
+create index idx_budgets_user_month_category on budgets (user_id, month_key, (upper(category)));
+
+-- Category lookup by name, ignoring case
+create index idx_categories_user_name_ci on categories (user_id, (upper(name)));
+
+-- Scheduled run: active = true and next_run <= ?
+create index idx_recurring_payments_active_next_run on recurring_payments (active, next_run);
+
+-- Refresh token cleanup per user. Replaces the implicit foreign key index InnoDB created.
+create index idx_refresh_tokens_user on refresh_tokens (user_id);
@@ -0,0 +1,30 @@
+-- Ids now come from pooled sequences so Hibernate can batch inserts. MySQL has no sequences;
+-- Hibernate keeps the next value in a one-row <table>_seq table and adds the entity's
+-- allocationSize to it: 1000 for transactions, which are written in bulk, 50 elsewhere.
+-- Each starts one increment past the current max id: with the pooled optimizer a stored
+-- value v hands out ids v-increment+1..v.
+--
+-- AUTO_INCREMENT stays on the id columns, since changing them means dropping every foreign
+-- key that references them. Hibernate always supplies the id now; plain SQL inserts must
+-- not rely on AUTO_INCREMENT or they can collide with pooled ids.
+
+create table users_seq (next_val bigint) engine=InnoDB;
+insert into users_seq (next_val) select coalesce(max(id), 0) + 50 from users;
+
+create table categories_seq (next_val bigint) engine=InnoDB;
+insert into categories_seq (next_val) select coalesce(max(id), 0) + 50 from categories;
+
+create table transactions_seq (next_val bigint) engine=InnoDB;
+insert into transactions_seq (next_val) select coalesce(max(id), 0) + 1000 from transactions;
+
+create table budgets_seq (next_val bigint) engine=InnoDB;
+insert into budgets_seq (next_val) select coalesce(max(id), 0) + 50 from budgets;
+
+create table recurring_payments_seq (next_val bigint) engine=InnoDB;
+insert into recurring_payments_seq (next_val) select coalesce(max(id), 0) + 50 from recurring_payments;
+
+create table refresh_tokens_seq (next_val bigint) engine=InnoDB;
+insert into refresh_tokens_seq (next_val) select coalesce(max(id), 0) + 50 from refresh_tokens;
+
+create table monthly_category_totals_seq (next_val bigint) engine=InnoDB;
+insert into monthly_category_totals_seq (next_val) select coalesce(max(id), 0) + 50 from monthly_category_totals;
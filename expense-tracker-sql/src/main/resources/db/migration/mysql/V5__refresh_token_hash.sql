@@ -0,0 +1,21 @@
+-- Refresh tokens are stored as the hex SHA-256 of the token, so a leaked table cannot be
+-- replayed. Existing tokens are hashed in place and keep working.
+--
+-- Login now rotates a user's single row in place instead of deleting and re-inserting, so
+-- only the newest row per user is kept and user_id becomes unique.
+
+delete r from refresh_tokens r
+join refresh_tokens n on n.user_id = r.user_id and n.id > r.id;
+
+alter table refresh_tokens add column token_hash varchar(64);
+update refresh_tokens set token_hash = sha2(token, 256);
+alter table refresh_tokens modify token_hash varchar(64) not null;
+alter table refresh_tokens drop column token;
+alter table refresh_tokens add constraint uk_refresh_tokens_token_hash unique (token_hash);
+
+-- The unique index also serves the foreign key, so the plain one can go.
+alter table refresh_tokens add constraint uk_refresh_tokens_user unique (user_id);
+drop index idx_refresh_tokens_user on refresh_tokens;
+
+-- Scheduled purge of expired tokens
+create index idx_refresh_tokens_expiry on refresh_tokens (expiry_date);
@@ -0,0 +1,80 @@
+-- Schema as previously created by hibernate ddl-auto=update.
+-- Existing databases are baselined at this version and skip it.
+
+create table users (
+    id bigint generated by default as identity,
+    email varchar(255) not null,
+    password varchar(255) not null,
+    enabled boolean not null,
+    created_at timestamp(6) with time zone,
+    primary key (id),
+    constraint UK6dotkott2kjsp8vw4d0m25fb7 unique (email)
+);
+
+create table user_roles (
+    user_id bigint not null,
+    role varchar(255) check (role in ('ROLE_USER','ROLE_ADMIN')),
+    constraint FKhfh9dx7w3ubf1co1vdev94g3f foreign key (user_id) references users (id)
+);
+
+create table categories (
+    id bigint generated by default as identity,
+    user_id bigint not null,
+    name varchar(255) not null,
+    type varchar(255) not null check (type in ('INCOME','EXPENSE')),
+    primary key (id),
+    constraint UKn22vnmml6mjq0j6i24cavceas unique (user_id, name),
+    constraint FKghuylkwuedgl2qahxjt8g41kb foreign key (user_id) references users (id)
+);
+
+create table transactions (
+    id bigint generated by default as identity,
+    user_id bigint not null,
+    category_id bigint not null,
+    type varchar(255) not null check (type in ('INCOME','EXPENSE')),
+    amount numeric(38,2) not null,
+    note varchar(255),
+    transaction_date date not null,
+    created_at timestamp(6) with time zone,
+    primary key (id),
+    constraint FKqwv7rmvc8va8rep7piikrojds foreign key (user_id) references users (id),
+    constraint FKsqqi7sneo04kast0o138h19mv foreign key (category_id) references categories (id)
+);
+
+create table budgets (
+    id bigint generated by default as identity,
+    user_id bigint not null,
+    category varchar(255) not null,
+    month_key varchar(255) not null,
+    limit_amount numeric(38,2) not null,
+    warning_threshold float(53),
+    created_at timestamp(6) with time zone,
+    primary key (id),
+    constraint FKln0tm5tgf3f9q3sp9sa5m8m7b foreign key (user_id) references users (id)
+);
+
+create table recurring_payments (
+    id bigint generated by default as identity,
+    user_id bigint not null,
+    category_id bigint not null,
+    type varchar(255) not null check (type in ('INCOME','EXPENSE')),
+    amount numeric(38,2) not null,
+    note varchar(255),
+    frequency varchar(255) not null check (frequency in ('DAILY','WEEKLY','MONTHLY')),
+    next_run date not null,
+    active boolean not null,
+    created_at timestamp(6) with time zone,
+    primary key (id),
+    constraint FKt4ee3x3ulo5ac90xs1auy7b1n foreign key (user_id) references users (id),
+    constraint FK1vy2qoei5v8y5gl89p65by1lu foreign key (category_id) references categories (id)
+);
+
+create table refresh_tokens (
+    id bigint generated by default as identity,
+    user_id bigint not null,
+    token varchar(255) not null,
+    expiry_date timestamp(6) with time zone not null,
+    primary key (id),
+    constraint UKghpmfn23vmxfu3spu3lfg4r2d unique (token),
+    constraint FK1lih5y2npsf8u5o3vhdb9y0os foreign key (user_id) references users (id)
+);
@@ -0,0 +1,14 @@
+-- Rollup table behind the reports. Databases that ran with ddl-auto=update may already have it.
+
+create table if not exists monthly_category_totals (
+    id bigint generated by default as identity,
+    user_id bigint not null,
+    category_id bigint not null,
+    month_key varchar(7) not null,
+    type varchar(255) not null check (type in ('INCOME','EXPENSE')),
+    total numeric(38,2) not null,
+    primary key (id),
+    constraint UKcwls4cgf2puit1ch8t7x7bcab unique (user_id, category_id, month_key, type),
+    constraint FKc4x6i5k0rrbfw73s2ueun9449 foreign key (user_id) references users (id),
+    constraint FK52nyhvnghkvhc5jomnx1hxxt6 foreign key (category_id) references categories (id)
+);
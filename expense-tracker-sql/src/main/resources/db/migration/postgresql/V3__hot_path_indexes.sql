@@ -0,0 +1,23 @@
+-- Composite indexes for the per-user hot paths.
+
+-- Transaction listing, keyset pagination and month filters: user_id = ? order by transaction_date desc, id desc
+create index if not exists idx_transactions_user_date on transactions (user_id, transaction_date, id);
+
+-- Listing filtered by category
+create index if not exists idx_transactions_user_category_date on transactions (user_id, category_id, transaction_date);
+
+-- Budget list and the duplicate check, which compares upper(category) = upper(?)
+create index if not exists idx_budgets_user_month_category on budgets (user_id, month_key, upper(category));
+
+-- Category lookup by name, ignoring case
+create index if not exists idx_categories_user_name_ci on categories (user_id, upper(name));
+
+-- Scheduled run: active = true and next_run <= ?. Inactive rows are never scanned.
+create index if not exists idx_recurring_payments_active_next_run on recurring_payments (next_run) where active;
+
+-- PostgreSQL does not index foreign keys on its own
+create index if not exists idx_recurring_payments_user on recurring_payments (user_id);
+create index if not exists idx_refresh_tokens_user on refresh_tokens (user_id);
+create index if not exists idx_user_roles_user on user_roles (user_id);
+create index if not exists idx_transactions_category on transactions (category_id);
+create index if not exists idx_monthly_category_totals_category on monthly_category_totals (category_id);
@@ -0,0 +1,48 @@
+-- Ids now come from pooled sequences so Hibernate can batch inserts. The increment matches
+-- the entity's allocationSize: 1000 for transactions, which are written in bulk, 50 elsewhere.
+-- Each sequence starts one increment past the current max id: with the pooled optimizer a
+-- value v hands out ids v-increment+1..v. The id columns default to the new sequences, so
+-- plain SQL inserts without an id cannot collide with pooled ids, though each one uses up a
+-- whole block.
+
+create sequence users_seq start with 1 increment by 50;
+select setval('users_seq', coalesce((select max(id) from users), 0) + 50, false);
+alter table users alter column id drop identity if exists;
+alter table users alter column id set default nextval('users_seq');
+alter sequence users_seq owned by users.id;
+
+create sequence categories_seq start with 1 increment by 50;
+select setval('categories_seq', coalesce((select max(id) from categories), 0) + 50, false);
+alter table categories alter column id drop identity if exists;
+alter table categories alter column id set default nextval('categories_seq');
+alter sequence categories_seq owned by categories.id;
+
+create sequence transactions_seq start with 1 increment by 1000;
+select setval('transactions_seq', coalesce((select max(id) from transactions), 0) + 1000, false);
+alter table transactions alter column id drop identity if exists;
+alter table transactions alter column id set default nextval('transactions_seq');
+alter sequence transactions_seq owned by transactions.id;
+
+create sequence budgets_seq start with 1 increment by 50;
+select setval('budgets_seq', coalesce((select max(id) from budgets), 0) + 50, false);
+alter table budgets alter column id drop identity if exists;
+alter table budgets alter column id set default nextval('budgets_seq');
+alter sequence budgets_seq owned by budgets.id;
+
+create sequence recurring_payments_seq start with 1 increment by 50;
+select setval('recurring_payments_seq', coalesce((select max(id) from recurring_payments), 0) + 50, false);
+alter table recurring_payments alter column id drop identity if exists;
+alter table recurring_payments alter column id set default nextval('recurring_payments_seq');
+alter sequence recurring_payments_seq owned by recurring_payments.id;
+
+create sequence refresh_tokens_seq start with 1 increment by 50;
+select setval('refresh_tokens_seq', coalesce((select max(id) from refresh_tokens), 0) + 50, false);
+alter table refresh_tokens alter column id drop identity if exists;
+alter table refresh_tokens alter column id set default nextval('refresh_tokens_seq');
+alter sequence refresh_tokens_seq owned by refresh_tokens.id;
+
+create sequence monthly_category_totals_seq start with 1 increment by 50;
+select setval('monthly_category_totals_seq', coalesce((select max(id) from monthly_category_totals), 0) + 50, false);
+alter table monthly_category_totals alter column id drop identity if exists;
+alter table monthly_category_totals alter column id set default nextval('monthly_category_totals_seq');
+alter sequence monthly_category_totals_seq owned by monthly_category_totals.id;
@@ -0,0 +1,20 @@
+-- Refresh tokens are stored as the hex SHA-256 of the token, so a leaked table cannot be
+-- replayed. Existing tokens are hashed in place and keep working.
+--
+-- Login now rotates a user's single row in place instead of deleting and re-inserting, so
+-- only the newest row per user is kept and user_id becomes unique.
+
+delete from refresh_tokens r
+where exists (select 1 from refresh_tokens n where n.user_id = r.user_id and n.id > r.id);
+
+alter table refresh_tokens add column token_hash varchar(64);
+update refresh_tokens set token_hash = encode(sha256(convert_to(token, 'UTF8')), 'hex');
+alter table refresh_tokens alter column token_hash set not null;
+alter table refresh_tokens drop column token;
+alter table refresh_tokens add constraint uk_refresh_tokens_token_hash unique (token_hash);
+
+alter table refresh_tokens add constraint uk_refresh_tokens_user unique (user_id);
+drop index if exists idx_refresh_tokens_user;
+
+-- Scheduled purge of expired tokens
+create index idx_refresh_tokens_expiry on refresh_tokens (expiry_date);
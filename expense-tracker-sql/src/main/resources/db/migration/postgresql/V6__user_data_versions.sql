@@ -0,0 +1,17 @@
+-- Per-user data version behind the listing and report ETags. It used to live in each
+-- instance's memory, so instances behind a load balancer disagreed and could answer 304 for
+-- data another instance had changed. Writers now bump it in their own transaction.
+--
+-- A table of its own rather than a users column: the foreign key checks on every write
+-- share-lock the user's row, and upgrading that lock to bump a column on it deadlocks on MySQL
+-- when two writes for the same user overlap.
+
+create table user_data_versions (
+    user_id bigint not null,
+    version bigint not null,
+    primary key (user_id),
+    constraint fk_user_data_versions_user foreign key (user_id) references users (id)
+);
+
+insert into user_data_versions (user_id, version)
+select id, 1 from users;
@@ -0,0 +1,78 @@
+package com.elif.expense_tracker_backend.config;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ConnectionLimitingDataSourceTest {
+
+    private final DataSource pool = mock(DataSource.class);
+
+    @Test
+    void waitsForAClosedConnectionOnceAllPermitsAreTaken() throws Exception {
+        when(pool.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        ConnectionLimitingDataSource guard = new ConnectionLimitingDataSource(pool, 2, Duration.ofSeconds(5));
+
+        Connection first = guard.getConnection();
+        guard.getConnection();
+        CompletableFuture<Connection> third = CompletableFuture.supplyAsync(() -> {
+            try {
+                return guard.getConnection();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        Thread.sleep(100);
+        assertThat(third).isNotDone();
+        verify(pool, times(2)).getConnection();
+
+        first.close();
+        assertThat(third.get(5, TimeUnit.SECONDS)).isNotNull();
+        verify(pool, times(3)).getConnection();
+    }
+
+    @Test
+    void timesOutWithATransientError() throws Exception {
+        when(pool.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        ConnectionLimitingDataSource guard = new ConnectionLimitingDataSource(pool, 1, Duration.ofMillis(50));
+
+        guard.getConnection();
+
+        assertThatThrownBy(guard::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+    }
+
+    @Test
+    void closingTwiceReturnsOnePermit() throws Exception {
+        when(pool.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        ConnectionLimitingDataSource guard = new ConnectionLimitingDataSource(pool, 2, Duration.ofSeconds(1));
+
+        Connection connection = guard.getConnection();
+        connection.close();
+        connection.close();
+
+        assertThat(guard.availablePermits()).isEqualTo(2);
+    }
+
+    @Test
+    void returnsThePermitWhenThePoolFails() throws Exception {
+        when(pool.getConnection()).thenThrow(new SQLTransientConnectionException("pool exhausted"));
+        ConnectionLimitingDataSource guard = new ConnectionLimitingDataSource(pool, 1, Duration.ofSeconds(1));
+
+        assertThatThrownBy(guard::getConnection).hasMessage("pool exhausted");
+        assertThat(guard.availablePermits()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,123 @@
+package com.elif.expense_tracker_backend.controller;
+
+import com.elif.expense_tracker_backend.category.Category;
+import com.elif.expense_tracker_backend.config.DatabaseVendor;
+import com.elif.expense_tracker_backend.config.SqlStatementCounter;
+import com.elif.expense_tracker_backend.repository.CategoryRepository;
+import com.elif.expense_tracker_backend.repository.UserDataVersionRepository;
+import com.elif.expense_tracker_backend.repository.UserRepository;
+import com.elif.expense_tracker_backend.security.JwtService;
+import com.elif.expense_tracker_backend.service.DataVersions;
+import com.elif.expense_tracker_backend.transaction.TransactionType;
+import com.elif.expense_tracker_backend.user.RoleType;
+import com.elif.expense_tracker_backend.user.User;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:conditional-get;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.flyway.enabled=false"
+})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ConditionalGetTest {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private SqlStatementCounter sqlStatementCounter;
+    @Autowired private JwtService jwtService;
+    @Autowired private UserRepository userRepository;
+    @Autowired private CategoryRepository categoryRepository;
+    @Autowired private UserDataVersionRepository userDataVersionRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private DatabaseVendor databaseVendor;
+
+    private Long userId;
+    private String token;
+
+    @BeforeAll
+    void seed() {
+        User user = userRepository.save(User.builder()
+                .email("etag@example.com")
+                .password("x")
+                .roles(Set.of(RoleType.ROLE_USER))
+                .build());
+        userId = user.getId();
+        categoryRepository.save(Category.builder().user(user).name("Rent").type(TransactionType.EXPENSE).build());
+        token = jwtService.generateToken(user);
+    }
+
+    @Test
+    void matchingTagIsAnswered304AfterOnlyTheVersionLookup() throws Exception {
+        String etag = fetch("/api/reports/monthly?months=6");
+
+        try (SqlStatementCounter.Tally tally = sqlStatementCounter.open()) {
+            mockMvc.perform(get("/api/reports/monthly?months=6")
+                            .header("Authorization", "Bearer " + token)
+                            .header(HttpHeaders.IF_NONE_MATCH, etag))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string(HttpHeaders.ETAG, etag));
+            assertThat(tally.count()).isEqualTo(1);
+        }
+        assertThat(fetch("/api/reports/monthly?months=3")).as("other parameters").isNotEqualTo(etag);
+    }
+
+    @Test
+    void writeChangesTheTag() throws Exception {
+        String etag = fetch("/api/categories");
+
+        mockMvc.perform(post("/api/categories")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Gym\",\"type\":\"EXPENSE\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/categories")
+                        .header("Authorization", "Bearer " + token)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+        assertThat(fetch("/api/categories")).isNotEqualTo(etag);
+    }
+
+    @Test
+    void writeThroughAnotherInstanceChangesTheTag() throws Exception {
+        String etag = fetch("/api/budgets");
+
+        new DataVersions(userDataVersionRepository, jdbcTemplate, databaseVendor).bump(userId);
+
+        mockMvc.perform(get("/api/budgets")
+                        .header("Authorization", "Bearer " + token)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    private String fetch(String uri) throws Exception {
+        String etag = mockMvc.perform(get(uri).header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).startsWith("\"");
+        return etag;
+    }
+}
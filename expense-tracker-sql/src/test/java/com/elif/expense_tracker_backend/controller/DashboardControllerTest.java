@@ -0,0 +1,107 @@
+package com.elif.expense_tracker_backend.controller;
+
+import com.elif.expense_tracker_backend.budget.Budget;
+import com.elif.expense_tracker_backend.category.Category;
+import com.elif.expense_tracker_backend.repository.BudgetRepository;
+import com.elif.expense_tracker_backend.repository.CategoryRepository;
+import com.elif.expense_tracker_backend.repository.UserRepository;
+import com.elif.expense_tracker_backend.security.JwtService;
+import com.elif.expense_tracker_backend.transaction.TransactionType;
+import com.elif.expense_tracker_backend.user.RoleType;
+import com.elif.expense_tracker_backend.user.User;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Set;
+
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:dashboard;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.flyway.enabled=false",
+        // The JCache regions are shared by every context in the JVM; ids here overlap other tests' rows.
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class DashboardControllerTest {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private JwtService jwtService;
+    @Autowired private UserRepository userRepository;
+    @Autowired private CategoryRepository categoryRepository;
+    @Autowired private BudgetRepository budgetRepository;
+
+    private String token;
+
+    @BeforeAll
+    void seed() throws Exception {
+        User user = userRepository.save(User.builder()
+                .email("dashboard@example.com")
+                .password("x")
+                .roles(Set.of(RoleType.ROLE_USER))
+                .build());
+        Long categoryId = categoryRepository.save(Category.builder()
+                .user(user).name("Rent").type(TransactionType.EXPENSE).build()).getId();
+        budgetRepository.save(Budget.builder()
+                .user(user)
+                .category("Rent")
+                .month(YearMonth.now().toString())
+                .limitAmount(new BigDecimal("1000.00"))
+                .build());
+        token = jwtService.generateToken(user);
+
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(post("/api/transactions")
+                            .header("Authorization", "Bearer " + token)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"type\":\"EXPENSE\",\"categoryId\":" + categoryId
+                                    + ",\"amount\":300.00,\"transactionDate\":\"" + LocalDate.now() + "\"}"))
+                    .andExpect(status().isOk());
+        }
+    }
+
+    @Test
+    void everySectionComesBackInOneResponseWithTimings() throws Exception {
+        mockMvc.perform(get("/api/dashboard?transactions=2")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.monthly.length()").value(1))
+                .andExpect(jsonPath("$.monthly[0].total").value(900.00))
+                .andExpect(jsonPath("$.spendingTrend[0].total").value(900.00))
+                .andExpect(jsonPath("$.byCategory[0].category").value("Rent"))
+                .andExpect(jsonPath("$.budgets[0].nearLimit").value(true))
+                .andExpect(jsonPath("$.recurring.length()").value(0))
+                .andExpect(jsonPath("$.categories[0].name").value("Rent"))
+                .andExpect(jsonPath("$.recentTransactions.length()").value(2))
+                .andExpect(header().string("Server-Timing", allOf(
+                        containsString("monthly;dur="),
+                        containsString("budgets;dur="),
+                        containsString("transactions;dur="),
+                        containsString("total;dur="))))
+                .andExpect(header().exists(HttpHeaders.ETAG));
+    }
+}
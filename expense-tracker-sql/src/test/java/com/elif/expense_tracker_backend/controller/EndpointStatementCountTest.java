@@ -0,0 +1,184 @@
+package com.elif.expense_tracker_backend.controller;
+
+import com.elif.expense_tracker_backend.budget.Budget;
+import com.elif.expense_tracker_backend.category.Category;
+import com.elif.expense_tracker_backend.config.SqlStatementCounter;
+import com.elif.expense_tracker_backend.recurring.RecurrenceFrequency;
+import com.elif.expense_tracker_backend.recurring.RecurringPayment;
+import com.elif.expense_tracker_backend.repository.BudgetRepository;
+import com.elif.expense_tracker_backend.repository.CategoryRepository;
+import com.elif.expense_tracker_backend.repository.RecurringPaymentRepository;
+import com.elif.expense_tracker_backend.repository.TransactionRepository;
+import com.elif.expense_tracker_backend.repository.UserRepository;
+import com.elif.expense_tracker_backend.security.JwtService;
+import com.elif.expense_tracker_backend.security.UserPrincipal;
+import com.elif.expense_tracker_backend.service.CategoryService;
+import com.elif.expense_tracker_backend.service.MonthlyRollupService;
+import com.elif.expense_tracker_backend.service.ReportCache;
+import com.elif.expense_tracker_backend.transaction.Transaction;
+import com.elif.expense_tracker_backend.transaction.TransactionType;
+import com.elif.expense_tracker_backend.user.RoleType;
+import com.elif.expense_tracker_backend.user.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pins the number of SQL statements each read endpoint issues, so a lazy association touched
+ * per row shows up as a failing count rather than as a slow page in production. Each count
+ * includes the data version lookup behind the ETag; reports look the version up once more
+ * to key the report cache.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:endpoint-statements;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.flyway.enabled=false"
+})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EndpointStatementCountTest {
+
+    private static final int CATEGORIES = 4;
+    private static final int TRANSACTIONS = 60;
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private SqlStatementCounter sqlStatementCounter;
+    @Autowired private MeterRegistry meterRegistry;
+    @Autowired private JwtService jwtService;
+    @Autowired private UserRepository userRepository;
+    @Autowired private CategoryRepository categoryRepository;
+    @Autowired private TransactionRepository transactionRepository;
+    @Autowired private BudgetRepository budgetRepository;
+    @Autowired private RecurringPaymentRepository recurringPaymentRepository;
+    @Autowired private MonthlyRollupService monthlyRollupService;
+    @Autowired private CategoryService categoryService;
+    @Autowired private ReportCache reportCache;
+
+    private User user;
+    private Long categoryId;
+    private String token;
+
+    @BeforeAll
+    void seed() {
+        LocalDate today = LocalDate.now();
+        user = userRepository.save(User.builder()
+                .email("statements@example.com")
+                .password("x")
+                .roles(Set.of(RoleType.ROLE_USER))
+                .build());
+
+        List<Category> categories = new ArrayList<>();
+        for (int c = 0; c < CATEGORIES; c++) {
+            categories.add(Category.builder().user(user).name("Category " + c).type(TransactionType.EXPENSE).build());
+        }
+        categories = categoryRepository.saveAll(categories);
+        categoryId = categories.get(0).getId();
+
+        List<Transaction> transactions = new ArrayList<>();
+        for (int t = 0; t < TRANSACTIONS; t++) {
+            transactions.add(Transaction.builder()
+                    .user(user)
+                    .category(categories.get(t % CATEGORIES))
+                    .type(TransactionType.EXPENSE)
+                    .amount(new BigDecimal("12.50"))
+                    .transactionDate(today.minusDays(t))
+                    .build());
+        }
+        transactionRepository.saveAll(transactions);
+
+        for (int c = 0; c < CATEGORIES; c++) {
+            budgetRepository.save(Budget.builder()
+                    .user(user)
+                    .category("category " + c)
+                    .month(YearMonth.from(today).toString())
+                    .limitAmount(new BigDecimal("100"))
+                    .build());
+            recurringPaymentRepository.save(RecurringPayment.builder()
+                    .user(user)
+                    .category(categories.get(c))
+                    .type(TransactionType.EXPENSE)
+                    .amount(BigDecimal.TEN)
+                    .frequency(RecurrenceFrequency.MONTHLY)
+                    .nextRun(today.plusDays(10))
+                    .active(true)
+                    .build());
+        }
+        monthlyRollupService.rebuild();
+        token = jwtService.generateToken(user);
+    }
+
+    @Test
+    void readEndpointsIssueAFixedNumberOfStatements() throws Exception {
+        assertThat(statementsFor("/api/transactions?page=0&size=20")).as("transactions page").isEqualTo(3);
+        assertThat(statementsFor("/api/transactions/cursor?size=20")).as("transactions slice").isEqualTo(2);
+        assertThat(statementsFor("/api/recurring")).as("recurring payments").isEqualTo(2);
+        assertThat(statementsFor("/api/budgets")).as("budgets with status").isEqualTo(3);
+        assertThat(statementsFor("/api/reports/category")).as("category report").isEqualTo(3);
+        assertThat(statementsFor("/api/reports/monthly?months=6")).as("monthly report").isEqualTo(3);
+    }
+
+    @Test
+    void categoriesAreServedFromTheSecondLevelCache() throws Exception {
+        statementsFor("/api/categories");
+        assertThat(statementsFor("/api/categories")).as("cached category list, version lookup only").isEqualTo(1);
+
+        UserPrincipal principal = UserPrincipal.from(user);
+        categoryService.getOwned(principal, categoryId);
+        try (SqlStatementCounter.Tally tally = sqlStatementCounter.open()) {
+            categoryService.getOwned(principal, categoryId);
+            assertThat(tally.count()).as("owned-category check").isZero();
+        }
+    }
+
+    @Test
+    void dashboardSectionsCountTowardsTheRequest() throws Exception {
+        // Categories come from the second-level cache once warm; reports start uncached.
+        statementsFor("/api/categories");
+        reportCache.invalidateAll();
+
+        try {
+            // Version lookup, monthly and category reports (each with the report cache's version
+            // lookup), budgets (2), recurring, transactions.
+            assertThat(statementsFor("/api/dashboard")).isEqualTo(9);
+        } finally {
+            reportCache.invalidateAll();
+        }
+    }
+
+    @Test
+    void requestCountIsRecordedPerEndpoint() throws Exception {
+        int statements = statementsFor("/api/budgets");
+
+        assertThat(meterRegistry.get("sql.statements.request").tag("uri", "/api/budgets").summary().max())
+                .isEqualTo(statements);
+    }
+
+    private int statementsFor(String uri) throws Exception {
+        try (SqlStatementCounter.Tally tally = sqlStatementCounter.open()) {
+            mockMvc.perform(get(uri).header("Authorization", "Bearer " + token))
+                    .andExpect(status().isOk());
+            return tally.count();
+        }
+    }
+}
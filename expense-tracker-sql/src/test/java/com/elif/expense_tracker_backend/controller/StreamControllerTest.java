@@ -0,0 +1,161 @@
+package com.elif.expense_tracker_backend.controller;
+
+import com.elif.expense_tracker_backend.budget.Budget;
+import com.elif.expense_tracker_backend.category.Category;
+import com.elif.expense_tracker_backend.repository.BudgetRepository;
+import com.elif.expense_tracker_backend.repository.CategoryRepository;
+import com.elif.expense_tracker_backend.repository.UserRepository;
+import com.elif.expense_tracker_backend.security.JwtService;
+import com.elif.expense_tracker_backend.service.StreamRegistry;
+import com.elif.expense_tracker_backend.transaction.TransactionType;
+import com.elif.expense_tracker_backend.user.RoleType;
+import com.elif.expense_tracker_backend.user.User;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:stream;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.flyway.enabled=false",
+        // The JCache regions are shared by every context in the JVM; ids here overlap other tests' rows.
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class StreamControllerTest {
+
+    private static final Duration WAIT = Duration.ofSeconds(5);
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private StreamRegistry streamRegistry;
+    @Autowired private JwtService jwtService;
+    @Autowired private UserRepository userRepository;
+    @Autowired private CategoryRepository categoryRepository;
+    @Autowired private BudgetRepository budgetRepository;
+
+    private String token;
+    private Long userId;
+    private Long categoryId;
+
+    @BeforeAll
+    void seed() {
+        User user = userRepository.save(User.builder()
+                .email("stream@example.com")
+                .password("x")
+                .roles(Set.of(RoleType.ROLE_USER))
+                .build());
+        userId = user.getId();
+        categoryId = categoryRepository.save(Category.builder()
+                .user(user).name("Food").type(TransactionType.EXPENSE).build()).getId();
+        budgetRepository.save(Budget.builder()
+                .user(user)
+                .category("food")
+                .month("2026-03")
+                .limitAmount(new BigDecimal("100.00"))
+                .warningThreshold(0.8)
+                .build());
+        token = jwtService.generateToken(user);
+    }
+
+    @Test
+    void writesArePushedWithCrossedBudgetThresholds() throws Exception {
+        MockHttpServletResponse stream = openStream();
+
+        addExpense("85.00");
+        await().atMost(WAIT).untilAsserted(() -> assertThat(stream.getContentAsString())
+                .contains("event:transaction\ndata:{\"action\":\"created\"")
+                .contains("event:budget\ndata:")
+                .contains("\"crossed\":\"nearLimit\""));
+
+        addExpense("20.00");
+        await().atMost(WAIT).untilAsserted(() -> assertThat(stream.getContentAsString())
+                .contains("\"spent\":105.00")
+                .contains("\"crossed\":\"exceeded\""));
+    }
+
+    @Test
+    void heartbeatReachesOpenStreams() throws Exception {
+        MockHttpServletResponse stream = openStream();
+
+        streamRegistry.heartbeat();
+        await().atMost(WAIT).untilAsserted(() -> assertThat(stream.getContentAsString()).contains(":heartbeat\n"));
+    }
+
+    @Test
+    void eachStreamSeesEventsInTheOrderTheyWereSent() throws Exception {
+        MockHttpServletResponse stream = openStream();
+
+        StringBuilder expected = new StringBuilder();
+        for (int commit = 0; commit < 50; commit++) {
+            List<Set<DataWithMediaType>> events = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                String id = commit + "." + i;
+                events.add(SseEmitter.event().name("order").data(id).build());
+                expected.append(id).append(',');
+            }
+            streamRegistry.send(userId, events);
+            if (commit % 10 == 0) {
+                streamRegistry.heartbeat();
+            }
+        }
+
+        await().atMost(WAIT).untilAsserted(() -> assertThat(orderEvents(stream.getContentAsString()))
+                .isEqualTo(expected.toString()));
+    }
+
+    private static String orderEvents(String content) {
+        StringBuilder ids = new StringBuilder();
+        for (String frame : content.split("\n\n")) {
+            if (frame.startsWith("event:order\ndata:")) {
+                ids.append(frame.substring("event:order\ndata:".length())).append(',');
+            }
+        }
+        return ids.toString();
+    }
+
+    private MockHttpServletResponse openStream() throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(get("/api/stream")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(request().asyncStarted())
+                .andReturn().getResponse();
+        assertThat(response.getContentType()).startsWith(MediaType.TEXT_EVENT_STREAM_VALUE);
+        return response;
+    }
+
+    private void addExpense(String amount) throws Exception {
+        mockMvc.perform(post("/api/transactions")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"type\":\"EXPENSE\",\"categoryId\":" + categoryId
+                                + ",\"amount\":" + amount + ",\"transactionDate\":\"2026-03-10\"}"))
+                .andExpect(status().isOk());
+    }
+}
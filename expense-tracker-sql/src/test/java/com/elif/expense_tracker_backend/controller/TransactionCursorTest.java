@@ -0,0 +1,134 @@
+package com.elif.expense_tracker_backend.controller;
+
+import com.elif.expense_tracker_backend.category.Category;
+import com.elif.expense_tracker_backend.repository.CategoryRepository;
+import com.elif.expense_tracker_backend.repository.TransactionRepository;
+import com.elif.expense_tracker_backend.repository.UserRepository;
+import com.elif.expense_tracker_backend.security.JwtService;
+import com.elif.expense_tracker_backend.transaction.Transaction;
+import com.elif.expense_tracker_backend.transaction.TransactionType;
+import com.elif.expense_tracker_backend.user.RoleType;
+import com.elif.expense_tracker_backend.user.User;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:transaction-cursor;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.flyway.enabled=false",
+        // The JCache regions are shared by every context in the JVM; ids here overlap other tests' rows.
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TransactionCursorTest {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private JwtService jwtService;
+    @Autowired private UserRepository userRepository;
+    @Autowired private CategoryRepository categoryRepository;
+    @Autowired private TransactionRepository transactionRepository;
+
+    private String token;
+    private List<Long> newestFirst;
+
+    @BeforeAll
+    void seed() {
+        User user = user("cursor@example.com");
+        User other = user("cursor-other@example.com");
+        Category food = categoryRepository.save(Category.builder().user(user).name("Food").type(TransactionType.EXPENSE).build());
+        Category otherFood = categoryRepository.save(Category.builder().user(other).name("Food").type(TransactionType.EXPENSE).build());
+
+        // Three rows share a date, so a page boundary falls between them.
+        List<Transaction> rows = transactionRepository.saveAll(List.of(
+                transaction(user, food, "2026-05-02"),
+                transaction(user, food, "2026-05-01"),
+                transaction(user, food, "2026-05-03"),
+                transaction(user, food, "2026-05-02"),
+                transaction(user, food, "2026-05-02")));
+        transactionRepository.save(transaction(other, otherFood, "2026-05-02"));
+
+        newestFirst = rows.stream()
+                .sorted(Comparator.comparing(Transaction::getTransactionDate).thenComparing(Transaction::getId).reversed())
+                .map(Transaction::getId)
+                .toList();
+        token = jwtService.generateToken(user);
+    }
+
+    @Test
+    void followingTheCursorVisitsEveryRowOnceNewestFirst() throws Exception {
+        List<Long> seen = new ArrayList<>();
+        List<Integer> pageSizes = new ArrayList<>();
+        String cursor = null;
+        do {
+            String uri = "/api/transactions/cursor?size=2" + (cursor == null ? "" : "&cursor=" + cursor);
+            String body = mockMvc.perform(get(uri).header("Authorization", "Bearer " + token))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            List<Number> ids = JsonPath.read(body, "$.content[*].id");
+            ids.forEach(id -> seen.add(id.longValue()));
+            pageSizes.add(ids.size());
+            cursor = JsonPath.read(body, "$.nextCursor");
+            assertThat(JsonPath.<Boolean>read(body, "$.hasNext")).isEqualTo(cursor != null);
+        } while (cursor != null);
+
+        assertThat(seen).containsExactlyElementsOf(newestFirst);
+        assertThat(pageSizes).containsExactly(2, 2, 1);
+    }
+
+    @Test
+    void malformedCursorsAreRejected() throws Exception {
+        for (String cursor : List.of("not base64!", encode("2026-05-02"), encode("yesterday|1"), encode("2026-05-02|x"))) {
+            mockMvc.perform(get("/api/transactions/cursor").param("cursor", cursor)
+                            .header("Authorization", "Bearer " + token))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    private User user(String email) {
+        return userRepository.save(User.builder()
+                .email(email)
+                .password("x")
+                .roles(Set.of(RoleType.ROLE_USER))
+                .build());
+    }
+
+    private static Transaction transaction(User user, Category category, String date) {
+        return Transaction.builder()
+                .user(user)
+                .category(category)
+                .type(TransactionType.EXPENSE)
+                .amount(BigDecimal.TEN)
+                .transactionDate(LocalDate.parse(date))
+                .build();
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
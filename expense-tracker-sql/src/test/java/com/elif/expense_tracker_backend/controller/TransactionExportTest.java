@@ -0,0 +1,143 @@
+package com.elif.expense_tracker_backend.controller;
+
+import com.elif.expense_tracker_backend.category.Category;
+import com.elif.expense_tracker_backend.repository.CategoryRepository;
+import com.elif.expense_tracker_backend.repository.TransactionRepository;
+import com.elif.expense_tracker_backend.repository.UserRepository;
+import com.elif.expense_tracker_backend.security.JwtService;
+import com.elif.expense_tracker_backend.transaction.Transaction;
+import com.elif.expense_tracker_backend.transaction.TransactionType;
+import com.elif.expense_tracker_backend.user.RoleType;
+import com.elif.expense_tracker_backend.user.User;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:transaction-export;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.flyway.enabled=false",
+        // The JCache regions are shared by every context in the JVM; ids here overlap other tests' rows.
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TransactionExportTest {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private JwtService jwtService;
+    @Autowired private UserRepository userRepository;
+    @Autowired private CategoryRepository categoryRepository;
+    @Autowired private TransactionRepository transactionRepository;
+
+    private String token;
+    private Long quoted;
+    private Long plain;
+    private Long later;
+
+    @BeforeAll
+    void seed() {
+        User user = userRepository.save(User.builder()
+                .email("export@example.com")
+                .password("x")
+                .roles(Set.of(RoleType.ROLE_USER))
+                .build());
+        Category food = categoryRepository.save(Category.builder()
+                .user(user).name("Food, drinks").type(TransactionType.EXPENSE).build());
+
+        later = transactionRepository.save(transaction(user, food, "2026-07-01", "12.00", "plain")).getId();
+        quoted = transactionRepository.save(transaction(user, food, "2026-06-01", "12.50", "said \"hi\", then left")).getId();
+        plain = transactionRepository.save(transaction(user, food, "2026-06-15", "3.00", null)).getId();
+        token = jwtService.generateToken(user);
+    }
+
+    @Test
+    void csvQuotesFieldsWithCommasAndQuotesOldestFirst() throws Exception {
+        List<String> lines = export("/api/transactions/export", "text/csv;charset=UTF-8").lines().toList();
+
+        assertThat(lines).hasSize(4);
+        assertThat(lines.get(0)).isEqualTo("id,date,type,category,amount,note,createdAt");
+        assertThat(lines.get(1)).startsWith(quoted + ",2026-06-01,EXPENSE,\"Food, drinks\",12.50,\"said \"\"hi\"\", then left\",");
+        assertThat(lines.get(2)).startsWith(plain + ",2026-06-15,EXPENSE,\"Food, drinks\",3.00,,");
+        assertThat(lines.get(3)).startsWith(later + ",2026-07-01,EXPENSE,\"Food, drinks\",12.00,plain,");
+    }
+
+    @Test
+    void ndjsonWritesOneObjectPerLine() throws Exception {
+        List<String> lines = export("/api/transactions/export?format=NDJSON", "application/x-ndjson").lines().toList();
+
+        assertThat(lines).hasSize(3);
+        JsonNode first = objectMapper.readTree(lines.get(0));
+        assertThat(first.get("id").asLong()).isEqualTo(quoted);
+        assertThat(first.get("categoryName").asText()).isEqualTo("Food, drinks");
+        assertThat(first.get("note").asText()).isEqualTo("said \"hi\", then left");
+        assertThat(first.get("amount").decimalValue()).isEqualByComparingTo("12.50");
+        assertThat(first.get("transactionDate").asText()).isEqualTo("2026-06-01");
+        assertThat(objectMapper.readTree(lines.get(2)).get("id").asLong()).isEqualTo(later);
+    }
+
+    @Test
+    void fromAndToAreInclusive() throws Exception {
+        List<String> lines = export("/api/transactions/export?from=2026-06-15&to=2026-07-01", "text/csv;charset=UTF-8")
+                .lines().skip(1).toList();
+
+        assertThat(lines).extracting(line -> Long.valueOf(line.substring(0, line.indexOf(','))))
+                .containsExactly(plain, later);
+    }
+
+    @Test
+    void fromAfterToIsRejectedBeforeStreaming() throws Exception {
+        mockMvc.perform(get("/api/transactions/export?from=2026-07-01&to=2026-06-01")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isBadRequest());
+    }
+
+    private String export(String uri, String contentType) throws Exception {
+        MvcResult started = mockMvc.perform(get(uri).header("Authorization", "Bearer " + token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, MediaType.parseMediaType(contentType).toString()))
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    private static Transaction transaction(User user, Category category, String date, String amount, String note) {
+        return Transaction.builder()
+                .user(user)
+                .category(category)
+                .type(TransactionType.EXPENSE)
+                .amount(new BigDecimal(amount))
+                .note(note)
+                .transactionDate(LocalDate.parse(date))
+                .build();
+    }
+}
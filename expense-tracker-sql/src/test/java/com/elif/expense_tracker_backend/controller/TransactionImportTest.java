@@ -0,0 +1,152 @@
+package com.elif.expense_tracker_backend.controller;
+
+import com.elif.expense_tracker_backend.category.Category;
+import com.elif.expense_tracker_backend.repository.CategoryRepository;
+import com.elif.expense_tracker_backend.repository.TransactionRepository;
+import com.elif.expense_tracker_backend.repository.UserRepository;
+import com.elif.expense_tracker_backend.security.JwtService;
+import com.elif.expense_tracker_backend.service.MonthlyRollupService;
+import com.elif.expense_tracker_backend.transaction.TransactionType;
+import com.elif.expense_tracker_backend.user.RoleType;
+import com.elif.expense_tracker_backend.user.User;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:transaction-import;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.flyway.enabled=false",
+        // The JCache regions are shared by every context in the JVM; ids here overlap other tests' rows.
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false",
+        "transactions.import.batch-size=2",
+        "transactions.import.max-reported-errors=2"
+})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TransactionImportTest {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private JwtService jwtService;
+    @Autowired private UserRepository userRepository;
+    @Autowired private CategoryRepository categoryRepository;
+    @Autowired private TransactionRepository transactionRepository;
+    @Autowired private MonthlyRollupService monthlyRollupService;
+
+    private String token;
+
+    @BeforeAll
+    void seed() {
+        User user = userRepository.save(User.builder()
+                .email("import@example.com")
+                .password("x")
+                .roles(Set.of(RoleType.ROLE_USER))
+                .build());
+        categoryRepository.save(Category.builder().user(user).name("Food").type(TransactionType.EXPENSE).build());
+        categoryRepository.save(Category.builder().user(user).name("Salary").type(TransactionType.INCOME).build());
+        token = jwtService.generateToken(user);
+    }
+
+    @Test
+    void validRowsAreImportedAndInvalidOnesReportedUpToTheCap() throws Exception {
+        long before = transactionRepository.count();
+        String csv = """
+                date,category,amount,note
+                2026-03-01,food,12.50,"lunch, with ""team""\"
+                2026-03-02,Travel,5.00,
+                03/03/2026,Food,5.00,
+                2026-03-04,Salary,1000.00,
+                2026-03-05,Food,-1,
+                2026-03-06,Food
+                2026-03-07,Food,7.50,"two
+                lines"
+                """;
+
+        importCsv(csv)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rows").value(7))
+                .andExpect(jsonPath("$.imported").value(3))
+                .andExpect(jsonPath("$.failed").value(4))
+                .andExpect(jsonPath("$.errors.length()").value(2))
+                .andExpect(jsonPath("$.errors[0].line").value(3))
+                .andExpect(jsonPath("$.errors[0].message").value("Unknown category 'Travel'"))
+                .andExpect(jsonPath("$.errors[1].line").value(4))
+                .andExpect(jsonPath("$.errorsTruncated").value(true));
+
+        assertThat(transactionRepository.count() - before).isEqualTo(3);
+        assertThat(monthlyRollupService.verify().isClean()).isTrue();
+    }
+
+    @Test
+    void eachBatchCommitsOnItsOwn() throws Exception {
+        long before = transactionRepository.count();
+        // Batches of two: the second one overflows the amount column and rolls back alone.
+        String csv = """
+                date,category,amount
+                2026-04-01,Food,1.00
+                2026-04-02,Food,2.00
+                2026-04-03,Food,3.00
+                2026-04-04,Food,1%s.00
+                2026-04-05,Food,5.00
+                """.formatted("0".repeat(40));
+
+        importCsv(csv)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rows").value(5))
+                .andExpect(jsonPath("$.imported").value(3))
+                .andExpect(jsonPath("$.failed").value(2))
+                .andExpect(jsonPath("$.errors[0].line").value(4))
+                .andExpect(jsonPath("$.errors[0].message").value("Rows on lines 4-5 could not be saved"));
+
+        assertThat(transactionRepository.count() - before).isEqualTo(3);
+        assertThat(monthlyRollupService.verify().isClean()).isTrue();
+    }
+
+    @Test
+    void ndjsonWithByteOrderMarkIsImported() throws Exception {
+        String ndjson = "\uFEFF{\"date\":\"2026-05-01\",\"category\":\"Food\",\"amount\":\"4.00\"}\n"
+                + "not json\n"
+                + "{\"transactionDate\":\"2026-05-02\",\"categoryName\":\"salary\",\"amount\":100}\n";
+
+        mockMvc.perform(post("/api/transactions/import")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.errors[0].line").value(2))
+                .andExpect(jsonPath("$.errors[0].message").value("Invalid JSON"));
+    }
+
+    @Test
+    void csvWithoutRequiredColumnsIsRejected() throws Exception {
+        importCsv("\uFEFFdate,amount\n2026-03-01,5\n")
+                .andExpect(status().isBadRequest());
+    }
+
+    private ResultActions importCsv(String csv) throws Exception {
+        return mockMvc.perform(post("/api/transactions/import")
+                .header("Authorization", "Bearer " + token)
+                .contentType("text/csv")
+                .content(csv));
+    }
+}
@@ -0,0 +1,288 @@
+package com.elif.expense_tracker_backend.repository;
+
+import com.elif.expense_tracker_backend.budget.Budget;
+import com.elif.expense_tracker_backend.config.SqlStatementCounter;
+import com.elif.expense_tracker_backend.category.Category;
+import com.elif.expense_tracker_backend.recurring.RecurrenceFrequency;
+import com.elif.expense_tracker_backend.recurring.RecurringPayment;
+import com.elif.expense_tracker_backend.security.UserPrincipal;
+import com.elif.expense_tracker_backend.service.BudgetService;
+import com.elif.expense_tracker_backend.service.CategoryService;
+import com.elif.expense_tracker_backend.service.MonthlyRollupService;
+import com.elif.expense_tracker_backend.service.ReportService;
+import com.elif.expense_tracker_backend.service.TransactionExportService;
+import com.elif.expense_tracker_backend.service.TransactionService;
+import com.elif.expense_tracker_backend.token.RefreshToken;
+import com.elif.expense_tracker_backend.transaction.Transaction;
+import com.elif.expense_tracker_backend.transaction.TransactionSlice;
+import com.elif.expense_tracker_backend.transaction.TransactionType;
+import com.elif.expense_tracker_backend.user.RoleType;
+import com.elif.expense_tracker_backend.user.User;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+/**
+ * Runs the request-path queries against a seeded PostgreSQL database built by the real Flyway
+ * scripts, then EXPLAINs every SELECT they issued and fails if any table is read with a full scan.
+ *
+ * The tables are small, so sequential scans are priced out: one still shows up only when no
+ * index can serve the query. The expression and partial indexes from V3 are also checked by
+ * name, since the unique and primary key indexes would otherwise hide a regression.
+ */
+@SpringBootTest(properties = {
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+@Testcontainers(disabledWithoutDocker = true)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanTest {
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static final int USERS = 20;
+    private static final int CATEGORIES_PER_USER = 4;
+    private static final int TRANSACTIONS_PER_USER = 150;
+
+    @Autowired private UserRepository userRepository;
+    @Autowired private CategoryRepository categoryRepository;
+    @Autowired private TransactionRepository transactionRepository;
+    @Autowired private BudgetRepository budgetRepository;
+    @Autowired private RecurringPaymentRepository recurringPaymentRepository;
+    @Autowired private RefreshTokenRepository refreshTokenRepository;
+    @Autowired private MonthlyRollupService monthlyRollupService;
+    @Autowired private TransactionService transactionService;
+    @Autowired private TransactionExportService transactionExportService;
+    @Autowired private ReportService reportService;
+    @Autowired private BudgetService budgetService;
+    @Autowired private CategoryService categoryService;
+    @Autowired private TransactionTemplate transactionTemplate;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private SqlStatementCounter sqlStatementCounter;
+
+    private User user;
+    private Category category;
+    private String refreshTokenHash;
+
+    @BeforeAll
+    void seed() {
+        LocalDate today = LocalDate.now();
+        for (int u = 0; u < USERS; u++) {
+            User owner = userRepository.save(User.builder()
+                    .email("user" + u + "@example.com")
+                    .password("x")
+                    .roles(Set.of(RoleType.ROLE_USER))
+                    .build());
+
+            List<Category> categories = new ArrayList<>();
+            for (int c = 0; c < CATEGORIES_PER_USER; c++) {
+                categories.add(Category.builder().user(owner).name("Category " + c).type(TransactionType.EXPENSE).build());
+            }
+            categories = categoryRepository.saveAll(categories);
+
+            List<Transaction> transactions = new ArrayList<>();
+            for (int t = 0; t < TRANSACTIONS_PER_USER; t++) {
+                transactions.add(Transaction.builder()
+                        .user(owner)
+                        .category(categories.get(t % CATEGORIES_PER_USER))
+                        .type(TransactionType.EXPENSE)
+                        .amount(new BigDecimal("12.50"))
+                        .transactionDate(today.minusDays(t * 3L))
+                        .build());
+            }
+            transactionRepository.saveAll(transactions);
+
+            budgetRepository.save(Budget.builder()
+                    .user(owner)
+                    .category("category 0")
+                    .month(YearMonth.from(today).toString())
+                    .limitAmount(new BigDecimal("100"))
+                    .build());
+
+            for (int r = 0; r < 3; r++) {
+                recurringPaymentRepository.save(RecurringPayment.builder()
+                        .user(owner)
+                        .category(categories.get(r))
+                        .type(TransactionType.EXPENSE)
+                        .amount(BigDecimal.TEN)
+                        .frequency(RecurrenceFrequency.MONTHLY)
+                        .nextRun(today.plusDays(10 + r))
+                        .active(r != 2)
+                        .build());
+            }
+
+            RefreshToken token = refreshTokenRepository.save(RefreshToken.builder()
+                    .user(owner)
+                    .tokenHash(UUID.randomUUID().toString())
+                    .expiryDate(Instant.now().plusSeconds(3600))
+                    .build());
+
+            if (u == USERS / 2) {
+                user = owner;
+                category = categories.get(1);
+                refreshTokenHash = token.getTokenHash();
+            }
+        }
+        monthlyRollupService.rebuild();
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    void requestPathQueriesUseIndexes() throws IOException {
+        UserPrincipal principal = UserPrincipal.from(user);
+        String month = YearMonth.now().toString();
+        Pageable page = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "transactionDate"));
+
+        SqlStatementCounter.Tally tally = sqlStatementCounter.open();
+        // One surrounding transaction stands in for open-in-view, which lazy response mapping relies on.
+        transactionTemplate.executeWithoutResult(status -> {
+            transactionService.list(principal, null, null, null, page);
+            transactionService.list(principal, TransactionType.EXPENSE, category.getId(), month, page);
+            TransactionSlice slice = transactionService.listAfter(principal, null, null, null, null, 20);
+            transactionService.listAfter(principal, null, category.getId(), null, slice.getNextCursor(), 20);
+            transactionService.findByMonth(principal, YearMonth.now());
+
+            reportService.monthly(principal, 6);
+            reportService.byCategory(principal, month);
+            reportService.byCategory(principal, null);
+            reportService.spendingTrend(principal, 6);
+            budgetService.listWithStatus(principal);
+            categoryService.list(principal);
+
+            categoryRepository.findByUserIdAndNameIgnoreCase(user.getId(), "category 1");
+            budgetRepository.findByUserIdAndCategoryIgnoreCaseAndMonth(user.getId(), "CATEGORY 0", month);
+            recurringPaymentRepository.findByUserId(user.getId());
+            List<Long> due = recurringPaymentRepository.findDueIdsAfter(LocalDate.now(), 0L, PageRequest.of(0, 100));
+            recurringPaymentRepository.lockDueByIds(due.isEmpty() ? List.of(0L) : due, LocalDate.now());
+            refreshTokenRepository.findByTokenHash(refreshTokenHash);
+            refreshTokenRepository.findExpiredIds(Instant.now(), PageRequest.of(0, 100));
+            userRepository.findByEmail(user.getEmail());
+        });
+        transactionExportService.export(principal, null, null, null, LocalDate.now().minusMonths(3), null,
+                TransactionExportService.Format.CSV).writeTo(OutputStream.nullOutputStream());
+        tally.close();
+        List<String> statements = tally.statements().keySet().stream()
+                .filter(sql -> sql.stripLeading().toLowerCase().startsWith("select"))
+                .toList();
+
+        assertThat(statements).isNotEmpty();
+        List<String> fullScans = new ArrayList<>();
+        for (String sql : statements) {
+            String plan = explain(sql);
+            if (plan.contains("Seq Scan")) {
+                fullScans.add(sql + "\n  -> " + plan);
+            }
+        }
+        assertThat(fullScans).as("queries that read a whole table").isEmpty();
+    }
+
+    @Test
+    void caseInsensitiveLookupsUseTheUpperIndexes() throws InterruptedException {
+        String month = YearMonth.now().toString();
+
+        assertScans("idx_categories_user_name_ci",
+                () -> categoryRepository.findByUserIdAndNameIgnoreCase(user.getId(), "category 1"));
+        assertScans("idx_budgets_user_month_category",
+                () -> budgetRepository.findByUserIdAndCategoryIgnoreCaseAndMonth(user.getId(), "CATEGORY 0", month));
+    }
+
+    @Test
+    void dueRecurringPaymentsUseThePartialIndex() throws InterruptedException {
+        assertScans("idx_recurring_payments_active_next_run",
+                () -> recurringPaymentRepository.findDueIdsAfter(LocalDate.now(), 0L, PageRequest.of(0, 100)));
+    }
+
+    /**
+     * Runs the query with its real arguments and waits for the index's scan count to move.
+     */
+    private void assertScans(String index, Runnable query) throws InterruptedException {
+        long before = indexScans(index);
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute("set local enable_seqscan = off");
+            query.run();
+        });
+        // The server publishes index usage asynchronously.
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (indexScans(index) <= before) {
+            if (System.nanoTime() > deadline) {
+                fail(index + " was not used");
+            }
+            Thread.sleep(100);
+        }
+    }
+
+    private long indexScans(String index) {
+        return jdbcTemplate.queryForObject(
+                "select idx_scan from pg_stat_user_indexes where indexrelname = ?", Long.class, index);
+    }
+
+    /**
+     * PREPAREs the statement and EXPLAINs it with null arguments; under force_generic_plan the
+     * nulls are never folded into the plan.
+     */
+    private String explain(String sql) {
+        return jdbcTemplate.execute((Connection connection) -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("set enable_seqscan = off");
+                statement.execute("set plan_cache_mode = force_generic_plan");
+                StringBuilder numbered = new StringBuilder();
+                int parameters = 0;
+                for (char c : sql.toCharArray()) {
+                    if (c == '?') {
+                        numbered.append('$').append(++parameters);
+                    } else {
+                        numbered.append(c);
+                    }
+                }
+                statement.execute("prepare plan_check as " + numbered);
+                String arguments = parameters == 0 ? "" : "(" + String.join(", ", Collections.nCopies(parameters, "null")) + ")";
+                StringBuilder plan = new StringBuilder();
+                try (ResultSet rs = statement.executeQuery("explain execute plan_check" + arguments)) {
+                    while (rs.next()) {
+                        plan.append(rs.getString(1));
+                    }
+                } finally {
+                    statement.execute("deallocate plan_check");
+                    statement.execute("reset enable_seqscan");
+                    statement.execute("reset plan_cache_mode");
+                }
+                return plan.toString().replaceAll("\\s+", " ");
+            }
+        });
+    }
+}
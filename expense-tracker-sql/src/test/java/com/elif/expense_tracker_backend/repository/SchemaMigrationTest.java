@@ -0,0 +1,85 @@
+package com.elif.expense_tracker_backend.repository;
+
+import com.elif.expense_tracker_backend.category.Category;
+import com.elif.expense_tracker_backend.report.MonthlyCategoryTotal;
+import com.elif.expense_tracker_backend.service.DataVersions;
+import com.elif.expense_tracker_backend.service.MonthlyRollupService;
+import com.elif.expense_tracker_backend.token.RefreshTokenService;
+import com.elif.expense_tracker_backend.transaction.TransactionType;
+import com.elif.expense_tracker_backend.user.RoleType;
+import com.elif.expense_tracker_backend.user.User;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the real Flyway scripts against a real database and starts the app with
+ * ddl-auto=validate, the way dev and prod do, so a migration that drifts from the entity
+ * mappings fails here instead of at deploy time. Subclasses supply the database.
+ *
+ * Also exercises the vendor-specific upserts, which the H2 tests only cover through MERGE.
+ */
+@SpringBootTest(properties = {
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+abstract class SchemaMigrationTest {
+
+    @Autowired private Flyway flyway;
+    @Autowired private UserRepository userRepository;
+    @Autowired private CategoryRepository categoryRepository;
+    @Autowired private MonthlyCategoryTotalRepository rollupRepository;
+    @Autowired private RefreshTokenRepository refreshTokenRepository;
+    @Autowired private MonthlyRollupService monthlyRollupService;
+    @Autowired private RefreshTokenService refreshTokenService;
+    @Autowired private DataVersions dataVersions;
+    @Autowired private TransactionTemplate transactionTemplate;
+
+    @Test
+    void everyMigrationIsAppliedAndMatchesTheEntities() {
+        // The context only starts if Hibernate validated the migrated schema.
+        assertThat(flyway.info().pending()).isEmpty();
+        assertThat(flyway.info().current()).isNotNull();
+    }
+
+    @Test
+    void upsertsCreateOneRowAndThenUpdateIt() {
+        User user = userRepository.save(User.builder()
+                .email("migration@example.com")
+                .password("x")
+                .roles(Set.of(RoleType.ROLE_USER))
+                .build());
+        Category food = categoryRepository.save(Category.builder()
+                .user(user).name("Food").type(TransactionType.EXPENSE).build());
+
+        for (int i = 0; i < 2; i++) {
+            transactionTemplate.executeWithoutResult(status -> monthlyRollupService.add(
+                    user, food, YearMonth.of(2026, 3), TransactionType.EXPENSE, new BigDecimal("12.50")));
+        }
+        assertThat(rollupRepository.findAll())
+                .singleElement()
+                .extracting(MonthlyCategoryTotal::getTotal)
+                .satisfies(total -> assertThat(total).isEqualByComparingTo("25.00"));
+
+        refreshTokenService.createRefreshToken(user);
+        String latest = refreshTokenService.createRefreshToken(user);
+        assertThat(refreshTokenRepository.count()).isEqualTo(1);
+        assertThat(refreshTokenService.findByToken(latest)).isPresent();
+
+        for (int i = 0; i < 2; i++) {
+            transactionTemplate.executeWithoutResult(status -> dataVersions.bump(user.getId()));
+        }
+        assertThat(dataVersions.current(user.getId())).isEqualTo(2);
+    }
+}
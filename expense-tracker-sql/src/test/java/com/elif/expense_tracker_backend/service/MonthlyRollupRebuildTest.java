@@ -0,0 +1,89 @@
+package com.elif.expense_tracker_backend.service;
+
+import com.elif.expense_tracker_backend.category.Category;
+import com.elif.expense_tracker_backend.report.RollupDriftReport;
+import com.elif.expense_tracker_backend.repository.CategoryRepository;
+import com.elif.expense_tracker_backend.repository.MonthlyCategoryTotalRepository;
+import com.elif.expense_tracker_backend.repository.UserRepository;
+import com.elif.expense_tracker_backend.security.UserPrincipal;
+import com.elif.expense_tracker_backend.transaction.TransactionRequest;
+import com.elif.expense_tracker_backend.transaction.TransactionType;
+import com.elif.expense_tracker_backend.user.RoleType;
+import com.elif.expense_tracker_backend.user.User;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:rollup-rebuild;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.flyway.enabled=false",
+        // The JCache regions are shared by every context in the JVM; ids here overlap other tests' rows.
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class MonthlyRollupRebuildTest {
+
+    @Autowired private MonthlyRollupService monthlyRollupService;
+    @Autowired private TransactionService transactionService;
+    @Autowired private UserRepository userRepository;
+    @Autowired private CategoryRepository categoryRepository;
+    @Autowired private MonthlyCategoryTotalRepository rollupRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void seed() {
+        User user = userRepository.save(User.builder()
+                .email("rebuild@example.com")
+                .password("x")
+                .roles(Set.of(RoleType.ROLE_USER))
+                .build());
+        Category food = categoryRepository.save(Category.builder().user(user).name("Food").type(TransactionType.EXPENSE).build());
+        UserPrincipal principal = UserPrincipal.from(user);
+        for (String amount : new String[]{"10.00", "2.50"}) {
+            TransactionRequest request = new TransactionRequest();
+            request.setType(TransactionType.EXPENSE);
+            request.setCategoryId(food.getId());
+            request.setAmount(new BigDecimal(amount));
+            request.setTransactionDate(LocalDate.of(2026, 3, 1));
+            transactionService.create(principal, request);
+        }
+    }
+
+    @Test
+    void consistentRollupIsLeftAlone() {
+        RollupDriftReport report = monthlyRollupService.rebuildIfDrifted();
+
+        assertThat(report.isClean()).isTrue();
+        assertThat(report.isRebuilt()).isFalse();
+    }
+
+    @Test
+    void driftIsRepairedAndRepeatedRebuildsDoNotAddUp() {
+        jdbcTemplate.update("update monthly_category_totals set total = total + 5");
+        assertThat(monthlyRollupService.verify().getMismatchedRows()).isEqualTo(1);
+
+        assertThat(monthlyRollupService.rebuildIfDrifted().isRebuilt()).isTrue();
+        monthlyRollupService.rebuild();
+
+        assertThat(monthlyRollupService.verify().isClean()).isTrue();
+        assertThat(rollupRepository.findAll())
+                .singleElement()
+                .satisfies(row -> assertThat(row.getTotal()).isEqualByComparingTo("12.50"));
+    }
+}
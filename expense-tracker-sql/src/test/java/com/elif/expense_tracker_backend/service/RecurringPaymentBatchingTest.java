@@ -0,0 +1,258 @@
+package com.elif.expense_tracker_backend.service;
+
+import com.elif.expense_tracker_backend.category.Category;
+import com.elif.expense_tracker_backend.recurring.RecurrenceFrequency;
+import com.elif.expense_tracker_backend.recurring.RecurringPayment;
+import com.elif.expense_tracker_backend.recurring.RecurringRunResult;
+import com.elif.expense_tracker_backend.repository.CategoryRepository;
+import com.elif.expense_tracker_backend.repository.RecurringPaymentRepository;
+import com.elif.expense_tracker_backend.repository.TransactionRepository;
+import com.elif.expense_tracker_backend.repository.UserRepository;
+import com.elif.expense_tracker_backend.transaction.TransactionType;
+import com.elif.expense_tracker_backend.user.RoleType;
+import com.elif.expense_tracker_backend.user.User;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Counts the JDBC executions of a recurring payment run: each chunk should write its
+ * transactions, next_run checkpoints and rollup rows as one batch per table, however many
+ * payments the chunk holds.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:recurring-batching;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.flyway.enabled=false",
+        "recurring.processor.chunk-size=100",
+        "recurring.processor.workers=1",
+        "recurring.processor.write-batch-size=120"
+})
+@Import(RecurringPaymentBatchingTest.StatementLogConfig.class)
+class RecurringPaymentBatchingTest {
+
+    private static final int PAYMENTS = 250;
+    private static final int CHUNKS = 3;
+
+    private static final StatementLog STATEMENTS = new StatementLog();
+
+    @Autowired private UserRepository userRepository;
+    @Autowired private CategoryRepository categoryRepository;
+    @Autowired private RecurringPaymentRepository recurringPaymentRepository;
+    @Autowired private TransactionRepository transactionRepository;
+    @Autowired private RecurringPaymentService recurringPaymentService;
+    @Autowired private MeterRegistry meterRegistry;
+
+    @Test
+    void eachChunkWritesOneBatchPerTable() {
+        User user = userRepository.save(User.builder()
+                .email("batching@example.com")
+                .password("x")
+                .roles(Set.of(RoleType.ROLE_USER))
+                .build());
+        Category rent = categoryRepository.save(Category.builder().user(user).name("Rent").type(TransactionType.EXPENSE).build());
+        Category salary = categoryRepository.save(Category.builder().user(user).name("Salary").type(TransactionType.INCOME).build());
+        List<RecurringPayment> payments = new ArrayList<>();
+        for (int i = 0; i < PAYMENTS; i++) {
+            boolean income = i % 5 == 0;
+            payments.add(RecurringPayment.builder()
+                    .user(user)
+                    .category(income ? salary : rent)
+                    .type(income ? TransactionType.INCOME : TransactionType.EXPENSE)
+                    .amount(BigDecimal.valueOf(10 + i))
+                    .frequency(RecurrenceFrequency.MONTHLY)
+                    .nextRun(LocalDate.now())
+                    .active(true)
+                    .build());
+        }
+        recurringPaymentRepository.saveAll(payments);
+        long before = transactionRepository.count();
+        long runsBefore = runs();
+        double recordedBefore = recordedTransactions();
+
+        STATEMENTS.start();
+        RecurringRunResult result = recurringPaymentService.processDuePayments();
+        List<Execution> executions = STATEMENTS.stop();
+
+        assertThat(result.getTransactions()).isEqualTo(PAYMENTS);
+        assertThat(transactionRepository.count() - before).isEqualTo(PAYMENTS);
+
+        assertThat(writesTo(executions, "transactions"))
+                .as("inserts into transactions")
+                .hasSize(CHUNKS)
+                .allMatch(Execution::batch);
+        assertThat(writesTo(executions, "recurring_payments"))
+                .as("next_run updates")
+                .hasSize(CHUNKS)
+                .allMatch(Execution::batch);
+        // One upsert batch per chunk, whether or not the keys existed before.
+        assertThat(writesTo(executions, "monthly_category_totals"))
+                .as("rollup writes")
+                .hasSize(CHUNKS)
+                .allMatch(Execution::batch);
+
+        assertThat(runs() - runsBefore).isEqualTo(1);
+        assertThat(recordedTransactions() - recordedBefore).isEqualTo(PAYMENTS);
+    }
+
+    @Test
+    void longCatchUpIsWrittenInCappedBatches() {
+        User user = userRepository.save(User.builder()
+                .email("catch-up@example.com")
+                .password("x")
+                .roles(Set.of(RoleType.ROLE_USER))
+                .build());
+        Category gym = categoryRepository.save(Category.builder().user(user).name("Gym").type(TransactionType.EXPENSE).build());
+        RecurringPayment payment = recurringPaymentRepository.save(RecurringPayment.builder()
+                .user(user)
+                .category(gym)
+                .type(TransactionType.EXPENSE)
+                .amount(BigDecimal.ONE)
+                .frequency(RecurrenceFrequency.DAILY)
+                .nextRun(LocalDate.now().minusDays(300))
+                .active(true)
+                .build());
+        long before = transactionRepository.count();
+
+        STATEMENTS.start();
+        RecurringRunResult result = recurringPaymentService.processDuePayments();
+        List<Execution> executions = STATEMENTS.stop();
+
+        assertThat(result.getTransactions()).isEqualTo(301);
+        assertThat(transactionRepository.count() - before).isEqualTo(301);
+        // 120 + 120 + 61 rows.
+        assertThat(writesTo(executions, "transactions"))
+                .as("inserts into transactions")
+                .hasSize(3)
+                .allMatch(Execution::batch);
+        assertThat(recurringPaymentRepository.findById(payment.getId()).orElseThrow().getNextRun())
+                .isEqualTo(LocalDate.now().plusDays(1));
+    }
+
+    private long runs() {
+        Timer timer = meterRegistry.find("recurring.payments.run").timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private double recordedTransactions() {
+        DistributionSummary summary = meterRegistry.find("recurring.payments.run.transactions").summary();
+        return summary == null ? 0 : summary.totalAmount();
+    }
+
+    private static List<Execution> writesTo(List<Execution> executions, String table) {
+        return executions.stream()
+                .filter(execution -> {
+                    String sql = execution.sql().strip().toLowerCase(Locale.ROOT);
+                    return sql.startsWith("insert into " + table + " ") || sql.startsWith("update " + table + " ")
+                            || sql.startsWith("merge into " + table + " ");
+                })
+                .toList();
+    }
+
+    record Execution(String sql, boolean batch) {
+    }
+
+    /**
+     * Records every statement execution made through the application's DataSource.
+     */
+    static class StatementLog {
+
+        private final List<Execution> executions = new ArrayList<>();
+        private volatile boolean recording;
+
+        void start() {
+            synchronized (executions) {
+                executions.clear();
+            }
+            recording = true;
+        }
+
+        List<Execution> stop() {
+            recording = false;
+            synchronized (executions) {
+                return List.copyOf(executions);
+            }
+        }
+
+        void record(String sql, boolean batch) {
+            if (recording) {
+                synchronized (executions) {
+                    executions.add(new Execution(sql, batch));
+                }
+            }
+        }
+
+        DataSource wrap(DataSource dataSource) {
+            return (DataSource) wrap(DataSource.class, dataSource, null);
+        }
+
+        /**
+         * Proxies the DataSource, the connections it hands out and their statements.
+         *
+         * @param sql the prepared SQL, or null where it is passed to each execute call
+         */
+        private Object wrap(Class<?> type, Object target, String sql) {
+            return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+                String name = method.getName();
+                if (target instanceof Statement) {
+                    if (name.equals("executeBatch") || name.equals("executeLargeBatch")) {
+                        record(sql, true);
+                    } else if (name.startsWith("execute")) {
+                        record(args != null && args.length > 0 && args[0] instanceof String text ? text : sql, false);
+                    }
+                }
+                Object result;
+                try {
+                    result = method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+                Class<?> returnType = method.getReturnType();
+                if (returnType == Connection.class || (returnType.isInterface() && Statement.class.isAssignableFrom(returnType))) {
+                    return result == null ? null : wrap(returnType, result, name.startsWith("prepare") ? (String) args[0] : null);
+                }
+                return result;
+            });
+        }
+    }
+
+    @TestConfiguration
+    static class StatementLogConfig {
+
+        @Bean
+        static BeanPostProcessor statementLoggingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? STATEMENTS.wrap(dataSource) : bean;
+                }
+            };
+        }
+    }
+}
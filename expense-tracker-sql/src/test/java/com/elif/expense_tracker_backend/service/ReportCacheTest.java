@@ -0,0 +1,70 @@
+package com.elif.expense_tracker_backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReportCacheTest {
+
+    // Stands in for user_data_versions, which every instance reads.
+    private final Map<Long, Long> versions = new HashMap<>();
+    private final DataVersions dataVersions = new DataVersions(null, null, null) {
+        @Override
+        public long current(Long userId) {
+            return versions.getOrDefault(userId, 0L);
+        }
+    };
+    private final ReportCache cache = new ReportCache(dataVersions, 100, Duration.ofMinutes(10));
+
+    @Test
+    void aNewVersionMissesOnlyForThatUser() {
+        cache.get(1L, ReportCache.REPORT_MONTHLY, "6", () -> "user 1");
+        cache.get(2L, ReportCache.REPORT_MONTHLY, "6", () -> "user 2");
+
+        versions.put(1L, 1L);
+
+        assertThat(cache.<String>get(1L, ReportCache.REPORT_MONTHLY, "6", () -> "user 1 reloaded"))
+                .isEqualTo("user 1 reloaded");
+        assertThat(cache.<String>get(2L, ReportCache.REPORT_MONTHLY, "6", () -> "user 2 reloaded"))
+                .isEqualTo("user 2");
+    }
+
+    @Test
+    void writeOnAnotherInstanceIsSeenWithoutAnyEviction() {
+        ReportCache otherInstance = new ReportCache(dataVersions, 100, Duration.ofMinutes(10));
+        cache.get(1L, ReportCache.REPORT_CATEGORY, null, () -> "old totals");
+        otherInstance.get(1L, ReportCache.REPORT_CATEGORY, null, () -> "old totals");
+
+        // The other instance handles a write; only the shared version moves.
+        versions.put(1L, 7L);
+
+        assertThat(cache.<String>get(1L, ReportCache.REPORT_CATEGORY, null, () -> "new totals"))
+                .isEqualTo("new totals");
+    }
+
+    @Test
+    void loadThatRacesACommitIsStoredUnderTheOldVersion() {
+        String inFlight = cache.get(1L, ReportCache.REPORT_CATEGORY, "2026-03", () -> {
+            // A writer commits while this load is still reading the old totals.
+            versions.put(1L, 1L);
+            return "old totals";
+        });
+
+        assertThat(inFlight).isEqualTo("old totals");
+        assertThat(cache.<String>get(1L, ReportCache.REPORT_CATEGORY, "2026-03", () -> "new totals"))
+                .isEqualTo("new totals");
+    }
+
+    @Test
+    void invalidateAllDropsEveryonesReports() {
+        cache.get(1L, ReportCache.REPORT_MONTHLY, "6", () -> "before");
+        cache.invalidateAll();
+
+        assertThat(cache.<String>get(1L, ReportCache.REPORT_MONTHLY, "6", () -> "after")).isEqualTo("after");
+        assertThat(cache.stats().getInvalidations()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,89 @@
+package com.elif.expense_tracker_backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StreamFanoutTest {
+
+    private static final Long WATCHED_HERE = 1L;
+
+    private final List<Long> sentTo = new ArrayList<>();
+    private final StreamRegistry streamRegistry = new StreamRegistry(10, 5, 100, 3000, 1, 10) {
+        @Override
+        public boolean isWatched(Long userId) {
+            return WATCHED_HERE.equals(userId);
+        }
+
+        @Override
+        public void send(Long userId, List<Set<DataWithMediaType>> events) {
+            sentTo.add(userId);
+        }
+    };
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    // Two instances; no database is needed to hand notifications between them.
+    private final StreamFanout here = new StreamFanout(streamRegistry, null, null, null, objectMapper, true, 25000);
+    private final StreamFanout other = new StreamFanout(streamRegistry, null, null, null, objectMapper, true, 25000);
+
+    @AfterEach
+    void close() {
+        streamRegistry.close();
+    }
+
+    @Test
+    void usersAnnouncedByAnotherInstanceCountAsWatched() {
+        assertThat(here.isWatched(42L)).isFalse();
+
+        here.receive(StreamFanout.WATCHERS, "other-instance 42 43");
+
+        assertThat(here.isWatched(42L)).isTrue();
+        assertThat(here.isWatched(43L)).isTrue();
+        assertThat(here.isWatched(44L)).isFalse();
+    }
+
+    @Test
+    void eventsFromAnotherInstanceReachOnlyLocalStreams() {
+        List<StreamEvent> events = List.of(new StreamEvent("transaction", "{\"id\":7}"));
+
+        other.payloads(WATCHED_HERE, events).forEach(payload -> here.receive(StreamFanout.EVENTS, payload));
+        other.payloads(2L, events).forEach(payload -> here.receive(StreamFanout.EVENTS, payload));
+
+        assertThat(sentTo).containsExactly(WATCHED_HERE);
+    }
+
+    @Test
+    void ownEventsAreNotDeliveredTwice() {
+        here.payloads(WATCHED_HERE, List.of(new StreamEvent("transaction", "{}")))
+                .forEach(payload -> here.receive(StreamFanout.EVENTS, payload));
+
+        assertThat(sentTo).isEmpty();
+    }
+
+    @Test
+    void largeBatchesAreSplitInOrderAndOversizedEventsDropped() {
+        String data = "\"" + "x".repeat(1000) + "\"";
+        List<StreamEvent> events = new ArrayList<>(IntStream.range(0, 20)
+                .mapToObj(i -> new StreamEvent("budget" + i, data))
+                .toList());
+        events.add(5, new StreamEvent("huge", "\"" + "x".repeat(StreamFanout.MAX_PAYLOAD_BYTES) + "\""));
+
+        List<String> payloads = here.payloads(WATCHED_HERE, events);
+
+        assertThat(payloads).hasSizeGreaterThan(1)
+                .allMatch(payload -> payload.getBytes(StandardCharsets.UTF_8).length <= StreamFanout.MAX_PAYLOAD_BYTES)
+                .noneMatch(payload -> payload.contains("\"huge\""));
+        String joined = String.join("", payloads);
+        for (int i = 1; i < 20; i++) {
+            assertThat(joined.indexOf("\"budget" + i + "\"")).isGreaterThan(joined.indexOf("\"budget" + (i - 1) + "\""));
+        }
+    }
+}
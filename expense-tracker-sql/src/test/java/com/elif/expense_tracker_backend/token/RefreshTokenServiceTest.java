@@ -0,0 +1,111 @@
+package com.elif.expense_tracker_backend.token;
+
+import com.elif.expense_tracker_backend.repository.RefreshTokenRepository;
+import com.elif.expense_tracker_backend.repository.UserRepository;
+import com.elif.expense_tracker_backend.user.RoleType;
+import com.elif.expense_tracker_backend.user.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:refresh-tokens;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.flyway.enabled=false",
+        "jwt.refresh-purge.batch-size=10"
+})
+class RefreshTokenServiceTest {
+
+    @Autowired private RefreshTokenService refreshTokenService;
+    @Autowired private RefreshTokenPurgeJob purgeJob;
+    @Autowired private RefreshTokenRepository refreshTokenRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void clean() {
+        refreshTokenRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void loginRotatesTheStoredHashWithOneStatement() {
+        User user = user("rotate@example.com");
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        String first = refreshTokenService.createRefreshToken(user);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        statistics.clear();
+        String second = refreshTokenService.createRefreshToken(user);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(refreshTokenRepository.findAll())
+                .singleElement()
+                .satisfies(stored -> assertThat(stored.getTokenHash())
+                        .isEqualTo(RefreshTokenService.hash(second))
+                        .isNotEqualTo(second));
+        assertThat(refreshTokenService.findByToken(first)).isEmpty();
+        assertThat(refreshTokenService.findByToken(second))
+                .hasValueSatisfying(token -> assertThat(token.getUser().getEmail()).isEqualTo("rotate@example.com"));
+    }
+
+    @Test
+    void expiredTokenIsDeletedWhenPresented() {
+        User user = user("expired@example.com");
+        String token = refreshTokenService.createRefreshToken(user);
+        RefreshToken stored = refreshTokenService.findByToken(token).orElseThrow();
+        stored.setExpiryDate(Instant.now().minusSeconds(1));
+
+        assertThatThrownBy(() -> refreshTokenService.verifyExpiration(stored))
+                .isInstanceOf(ResponseStatusException.class);
+        assertThat(refreshTokenRepository.count()).isZero();
+    }
+
+    @Test
+    void purgeDeletesExpiredTokensInBatches() {
+        Instant past = Instant.now().minus(1, ChronoUnit.DAYS);
+        Instant future = Instant.now().plus(1, ChronoUnit.DAYS);
+        List<RefreshToken> tokens = new ArrayList<>();
+        for (int i = 0; i < 28; i++) {
+            tokens.add(RefreshToken.builder()
+                    .user(user("purge" + i + "@example.com"))
+                    .tokenHash(RefreshTokenService.hash("token-" + i))
+                    .expiryDate(i < 25 ? past : future)
+                    .build());
+        }
+        refreshTokenRepository.saveAll(tokens);
+
+        assertThat(purgeJob.purgeExpired()).isEqualTo(25);
+        assertThat(refreshTokenRepository.findAll())
+                .hasSize(3)
+                .allSatisfy(token -> assertThat(token.getExpiryDate()).isAfter(Instant.now()));
+    }
+
+    private User user(String email) {
+        return userRepository.findByEmail(email).orElseGet(() -> userRepository.save(User.builder()
+                .email(email)
+                .password("x")
+                .roles(Set.of(RoleType.ROLE_USER))
+                .build()));
+    }
+}
@@ -0,0 +1,85 @@
+package com.elif.expense_tracker_backend.transaction;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvRecordReaderTest {
+
+    @Test
+    void quotedFieldsKeepCommasAndEscapedQuotes() throws IOException {
+        CsvRecordReader csv = reader("date,note\n2026-03-01,\"rent, \"\"march\"\"\"\n");
+
+        assertThat(csv.next()).containsExactly("date", "note");
+        assertThat(csv.next()).containsExactly("2026-03-01", "rent, \"march\"");
+        assertThat(csv.next()).isNull();
+    }
+
+    @Test
+    void quotedFieldsMaySpanLinesAndRecordsReportTheirFirstLine() throws IOException {
+        CsvRecordReader csv = reader("a,b\n1,\"first\nsecond\"\n2,x\n");
+
+        csv.next();
+        assertThat(csv.next()).containsExactly("1", "first\nsecond");
+        assertThat(csv.getRecordLine()).isEqualTo(2);
+        assertThat(csv.next()).containsExactly("2", "x");
+        assertThat(csv.getRecordLine()).isEqualTo(4);
+    }
+
+    @Test
+    void crlfLineEndingsAndBlankLinesAreHandled() throws IOException {
+        CsvRecordReader csv = reader("a,b\r\n\r\n1,\"multi\r\nline\"\r\n2,y");
+
+        assertThat(readAll(csv)).containsExactly(
+                List.of("a", "b"),
+                List.of("1", "multi\nline"),
+                List.of("2", "y"));
+        assertThat(csv.getRecordLine()).isEqualTo(5);
+    }
+
+    @Test
+    void leadingByteOrderMarkIsSkipped() throws IOException {
+        CsvRecordReader csv = reader("\uFEFFdate,amount\n2026-03-01,5\n");
+
+        assertThat(csv.next()).containsExactly("date", "amount");
+        assertThat(csv.next()).containsExactly("2026-03-01", "5");
+    }
+
+    @Test
+    void shortRowsReturnOnlyTheFieldsPresent() throws IOException {
+        CsvRecordReader csv = reader("date,category,amount\n2026-03-01,Food\n,\n");
+
+        csv.next();
+        assertThat(csv.next()).containsExactly("2026-03-01", "Food");
+        assertThat(csv.next()).containsExactly("", "");
+    }
+
+    @Test
+    void unterminatedQuoteIsMalformed() throws IOException {
+        CsvRecordReader csv = reader("a,b\n1,\"never closed\n2,x\n");
+
+        csv.next();
+        assertThatThrownBy(csv::next)
+                .isInstanceOf(CsvRecordReader.MalformedCsvException.class)
+                .hasMessageContaining("Unterminated");
+    }
+
+    private static CsvRecordReader reader(String content) {
+        return new CsvRecordReader(new StringReader(content));
+    }
+
+    private static List<List<String>> readAll(CsvRecordReader csv) throws IOException {
+        List<List<String>> records = new ArrayList<>();
+        List<String> record;
+        while ((record = csv.next()) != null) {
+            records.add(record);
+        }
+        return records;
+    }
+}